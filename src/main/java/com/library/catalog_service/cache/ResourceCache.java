@@ -0,0 +1,73 @@
+package com.library.catalog_service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.catalog_service.dto.ResourceResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * In-memory read-through cache of resource responses keyed by id.
+ * Size-bounded (LRU-like eviction) with a TTL; hit, miss and eviction
+ * counts are published as "cache.*" metrics tagged cache=resources.
+ */
+@Component
+public class ResourceCache {
+
+    private final Cache<Long, ResourceResponse> cache;
+
+    public ResourceCache(MeterRegistry meterRegistry,
+            @Value("${catalog.cache.resources.max-size:50000}") long maxSize,
+            @Value("${catalog.cache.resources.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "resources");
+    }
+
+    /**
+     * Get a resource, loading and caching it on a miss
+     */
+    public ResourceResponse get(Long id, Function<Long, ResourceResponse> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Get several resources, loading all misses with a single call to the loader.
+     * Ids the loader does not return are absent from the result.
+     */
+    public Map<Long, ResourceResponse> getAll(Collection<Long> ids,
+            Function<Set<? extends Long>, Map<Long, ResourceResponse>> loader) {
+        return cache.getAll(ids, loader);
+    }
+
+    /**
+     * Evict a resource now and again when the surrounding transaction commits,
+     * so a reader that loaded the pre-commit row in between cannot leave it cached.
+     * Registered before the write's ResourceChangedEvent is published, so the
+     * second eviction runs before the after-commit listeners update the indexes.
+     */
+    public void evict(Long id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.library.catalog_service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.index.ResourceIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Serialized JSON of resources and of list pages, so responses can be
+ * written without running Jackson again.
+ * <p>
+ * A resource's bytes are stored with the version they were encoded from and
+ * only returned for that version; they are also dropped after every write to
+ * the resource, through {@link com.library.catalog_service.index.ResourceIndexMaintainer}.
+ * Page keys carry the catalog_versions version of the partition they list,
+ * read in the same snapshot as the page, which a write on any instance
+ * bumps, so the write makes them unreachable and they age out after the
+ * page TTL. Published as "cache.*" metrics
+ * tagged cache=resource-json and cache=resource-pages.
+ */
+@Component
+public class ResponseBytesCache implements ResourceIndex {
+
+    private final Cache<Long, Fragment> fragments;
+    private final Cache<String, byte[]> pages;
+
+    public ResponseBytesCache(MeterRegistry meterRegistry,
+            @Value("${catalog.cache.resources.max-size:50000}") long maxResources,
+            @Value("${catalog.cache.pages.max-size:2000}") long maxPages,
+            @Value("${catalog.cache.pages.ttl:10m}") Duration pageTtl) {
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(maxResources)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterWrite(pageTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, fragments, "resource-json");
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "resource-pages");
+    }
+
+    /**
+     * JSON of the resource at its version, encoding and caching it on a miss
+     */
+    public byte[] resource(ResourceResponse resource, Function<ResourceResponse, byte[]> encoder) {
+        Fragment cached = fragments.getIfPresent(resource.getId());
+        if (cached != null && cached.version() != null && cached.version().equals(resource.getVersion())) {
+            return cached.json();
+        }
+        byte[] json = encoder.apply(resource);
+        fragments.put(resource.getId(), new Fragment(resource.getVersion(), json));
+        return json;
+    }
+
+    /**
+     * JSON of a list page, building and caching it on a miss; concurrent
+     * misses on the same key build it once
+     */
+    public byte[] page(String key, Supplier<byte[]> builder) {
+        return pages.get(key, k -> builder.get());
+    }
+
+    @Override
+    public void put(ResourceResponse resource) {
+        fragments.invalidate(resource.getId());
+    }
+
+    @Override
+    public void remove(Long resourceId) {
+        fragments.invalidate(resourceId);
+    }
+
+    private record Fragment(Long version, byte[] json) {
+    }
+}
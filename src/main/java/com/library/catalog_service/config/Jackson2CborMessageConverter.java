@@ -0,0 +1,31 @@
+package com.library.catalog_service.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.springframework.amqp.support.converter.AbstractJackson2MessageConverter;
+import org.springframework.util.MimeType;
+
+/**
+ * Jackson message converter for CBOR (application/cbor), a binary encoding of
+ * the JSON data model: same payload classes and type headers as the JSON
+ * converter, smaller messages and cheaper parsing.
+ */
+public class Jackson2CborMessageConverter extends AbstractJackson2MessageConverter {
+
+    public static final String CONTENT_TYPE_CBOR = "application/cbor";
+
+    public Jackson2CborMessageConverter() {
+        this("*");
+    }
+
+    public Jackson2CborMessageConverter(String... trustedPackages) {
+        super(cborMapper(), MimeType.valueOf(CONTENT_TYPE_CBOR), trustedPackages);
+    }
+
+    private static CBORMapper cborMapper() {
+        CBORMapper mapper = new CBORMapper();
+        mapper.findAndRegisterModules();
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+}
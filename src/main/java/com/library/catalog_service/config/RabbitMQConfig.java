@@ -1,13 +1,20 @@
 package com.library.catalog_service.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * RabbitMQ configuration for event publishing
  */
@@ -23,6 +30,8 @@ public class RabbitMQConfig {
     public static final String RESOURCE_CREATED_QUEUE = "resource.created";
     public static final String RESOURCE_UPDATED_QUEUE = "resource.updated";
     public static final String RESOURCE_DELETED_QUEUE = "resource.deleted";
+    public static final String RESOURCE_CHANGED_QUEUE = "resource.changed";
+    public static final String RESOURCE_BULK_QUEUE = "resource.bulk";
 
     // Queue names for listening to booking events (consumed by catalog-service)
     public static final String CATALOG_BOOKING_CREATED_QUEUE = "catalog.booking.created";
@@ -33,12 +42,17 @@ public class RabbitMQConfig {
     public static final String RESOURCE_CREATED_ROUTING_KEY = "resource.created";
     public static final String RESOURCE_UPDATED_ROUTING_KEY = "resource.updated";
     public static final String RESOURCE_DELETED_ROUTING_KEY = "resource.deleted";
+    public static final String RESOURCE_CHANGED_ROUTING_KEY = "resource.changed";
+    public static final String RESOURCE_BULK_ROUTING_KEY = "resource.bulk";
 
     // Routing keys for booking events
     public static final String BOOKING_CREATED_ROUTING_KEY = "booking.created";
     public static final String BOOKING_CANCELED_ROUTING_KEY = "booking.canceled";
     public static final String BOOKING_COMPLETED_ROUTING_KEY = "booking.completed";
 
+    // Listener container factory for batched booking event consumption
+    public static final String BOOKING_BATCH_CONTAINER_FACTORY = "bookingBatchListenerContainerFactory";
+
     /**
      * Create topic exchanges
      */
@@ -76,6 +90,22 @@ public class RabbitMQConfig {
         return new Queue(RESOURCE_DELETED_QUEUE, true);
     }
 
+    /**
+     * Create queue for compact resource change events
+     */
+    @Bean
+    public Queue resourceChangedQueue() {
+        return new Queue(RESOURCE_CHANGED_QUEUE, true);
+    }
+
+    /**
+     * Create queue for aggregated bulk operation events
+     */
+    @Bean
+    public Queue resourceBulkQueue() {
+        return new Queue(RESOURCE_BULK_QUEUE, true);
+    }
+
     /**
      * Bind resource created queue to exchange
      */
@@ -109,6 +139,28 @@ public class RabbitMQConfig {
                 .with(RESOURCE_DELETED_ROUTING_KEY);
     }
 
+    /**
+     * Bind resource changed queue to exchange
+     */
+    @Bean
+    public Binding resourceChangedBinding() {
+        return BindingBuilder
+                .bind(resourceChangedQueue())
+                .to(resourceExchange())
+                .with(RESOURCE_CHANGED_ROUTING_KEY);
+    }
+
+    /**
+     * Bind resource bulk queue to exchange
+     */
+    @Bean
+    public Binding resourceBulkBinding() {
+        return BindingBuilder
+                .bind(resourceBulkQueue())
+                .to(resourceExchange())
+                .with(RESOURCE_BULK_ROUTING_KEY);
+    }
+
     // =========== BOOKING EVENT LISTENERS ===========
 
     /**
@@ -172,15 +224,42 @@ public class RabbitMQConfig {
     }
 
     /**
-     * JSON message converter
+     * Listener container factory delivering booking events in batches.
+     * A batch is handed over once it holds batch.size messages or no new
+     * message arrived for batch.linger.
+     */
+    @Bean(BOOKING_BATCH_CONTAINER_FACTORY)
+    @ConditionalOnProperty(name = "catalog.booking-events.batch.enabled", havingValue = "true")
+    public SimpleRabbitListenerContainerFactory bookingBatchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${catalog.booking-events.batch.size:100}") int batchSize,
+            @Value("${catalog.booking-events.batch.linger:200ms}") Duration linger) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(linger.toMillis());
+        factory.setPrefetchCount(batchSize * 2);
+        return factory;
+    }
+
+    /**
+     * Message converter chosen by the message content type: JSON (also used
+     * for messages without a known content type) or CBOR
      */
     @Bean
     public MessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+        Jackson2JsonMessageConverter json = new Jackson2JsonMessageConverter();
+        ContentTypeDelegatingMessageConverter converter = new ContentTypeDelegatingMessageConverter(json);
+        converter.addDelegate(MessageProperties.CONTENT_TYPE_JSON, json);
+        converter.addDelegate(Jackson2CborMessageConverter.CONTENT_TYPE_CBOR, new Jackson2CborMessageConverter());
+        return converter;
     }
 
     /**
-     * RabbitTemplate with JSON converter
+     * RabbitTemplate with the content-type delegating converter
      */
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
@@ -0,0 +1,39 @@
+package com.library.catalog_service.config;
+
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Resource ids used to come from an identity column. Before the first insert,
+ * move the resources_seq sequence past the ids already in the table so pooled
+ * allocation never hands out an existing id. Never moves it backwards.
+ */
+@Component
+public class ResourceIdSequenceInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceIdSequenceInitializer.class);
+
+    private static final String ALIGN_SEQUENCE = "select setval('resources_seq', greatest("
+            + "(select last_value from resources_seq), (select coalesce(max(id), 0) from resources)))";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public ResourceIdSequenceInitializer(EntityManager entityManager,
+            PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Number position = transactionTemplate.execute(status ->
+                (Number) entityManager.createNativeQuery(ALIGN_SEQUENCE).getSingleResult());
+        logger.info("Resource id sequence at {}", position);
+    }
+}
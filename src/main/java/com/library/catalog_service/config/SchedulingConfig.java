@@ -0,0 +1,12 @@
+package com.library.catalog_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (index verification, housekeeping)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
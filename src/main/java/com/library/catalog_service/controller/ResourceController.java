@@ -1,17 +1,44 @@
 package com.library.catalog_service.controller;
 
+import com.library.catalog_service.dto.BulkOperationResponse;
+import com.library.catalog_service.dto.ChangeFeedPage;
+import com.library.catalog_service.dto.BulkUpdateResourceRequest;
 import com.library.catalog_service.dto.CreateResourceRequest;
+import com.library.catalog_service.dto.CursorPage;
+import com.library.catalog_service.dto.ImportReport;
+import com.library.catalog_service.dto.NearbyResourceResponse;
+import com.library.catalog_service.dto.ResourceCountResponse;
+import com.library.catalog_service.dto.ResourceFilter;
 import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.dto.ResourceStatsResponse;
 import com.library.catalog_service.dto.UpdateResourceRequest;
 import com.library.catalog_service.entity.ResourceStatus;
 import com.library.catalog_service.entity.ResourceType;
 import com.library.common.security.annotation.RequiresRole;
+import com.library.catalog_service.service.CatalogVersionService;
+import com.library.catalog_service.service.ImportFormat;
+import com.library.catalog_service.service.ResourceBulkService;
+import com.library.catalog_service.service.ResourceChangeFeedService;
+import com.library.catalog_service.service.ResourceExportService;
+import com.library.catalog_service.service.ResourceImportService;
+import com.library.catalog_service.service.ResourceJsonService;
 import com.library.catalog_service.service.ResourceService;
+import com.library.catalog_service.service.ResourceStreamService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
 import java.util.List;
 
 /**
@@ -23,9 +50,26 @@ import java.util.List;
 public class ResourceController {
 
     private final ResourceService resourceService;
+    private final ResourceBulkService resourceBulkService;
+    private final ResourceImportService resourceImportService;
+    private final ResourceExportService resourceExportService;
+    private final ResourceChangeFeedService resourceChangeFeedService;
+    private final ResourceStreamService resourceStreamService;
+    private final ResourceJsonService resourceJsonService;
+    private final CatalogVersionService catalogVersionService;
 
-    public ResourceController(ResourceService resourceService) {
+    public ResourceController(ResourceService resourceService, ResourceBulkService resourceBulkService,
+            ResourceImportService resourceImportService, ResourceExportService resourceExportService,
+            ResourceChangeFeedService resourceChangeFeedService, ResourceStreamService resourceStreamService,
+            ResourceJsonService resourceJsonService, CatalogVersionService catalogVersionService) {
         this.resourceService = resourceService;
+        this.resourceBulkService = resourceBulkService;
+        this.resourceImportService = resourceImportService;
+        this.resourceExportService = resourceExportService;
+        this.resourceChangeFeedService = resourceChangeFeedService;
+        this.resourceStreamService = resourceStreamService;
+        this.resourceJsonService = resourceJsonService;
+        this.catalogVersionService = catalogVersionService;
     }
 
     /**
@@ -41,51 +85,210 @@ public class ResourceController {
     }
 
     /**
-     * Get resource by ID
+     * Create many resources in one batch, with a result per item
+     * POST /api/resources/bulk
+     * Authorization: ADMIN only
+     */
+    @PostMapping("/bulk")
+    @RequiresRole({ "ADMIN" })
+    public ResponseEntity<BulkOperationResponse> createResources(@RequestBody List<CreateResourceRequest> requests) {
+        BulkOperationResponse response = resourceBulkService.createResources(requests);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Import resources from a CSV or NDJSON request body, streamed and written in chunks
+     * POST /api/resources/import?format=...&upsert=...&dryRun=...
+     * Authorization: ADMIN only
+     */
+    @PostMapping("/import")
+    @RequiresRole({ "ADMIN" })
+    public ResponseEntity<ImportReport> importResources(
+            HttpServletRequest request,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean upsert,
+            @RequestParam(defaultValue = "false") boolean dryRun) throws IOException {
+        ImportFormat importFormat = ImportFormat.resolve(format, request.getHeader(HttpHeaders.CONTENT_TYPE));
+        ImportReport report = resourceImportService.importResources(request.getInputStream(), importFormat,
+                upsert, dryRun, progress -> {});
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * Stream the whole catalog as NDJSON, gzip-compressed when the client accepts it
+     * GET /api/resources/export
+     * Authorization: AUTHENTICATED
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportResources(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192, true);
+                resourceExportService.exportNdjson(compressed);
+                compressed.finish();
+            } else {
+                resourceExportService.exportNdjson(out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Resources created, updated or deleted since the sync token, oldest first;
+     * 410 when the token has expired
+     * GET /api/resources/changes?since=...&limit=...
+     * Authorization: AUTHENTICATED
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeFeedPage> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(resourceChangeFeedService.changesSince(since, limit));
+    }
+
+    /**
+     * Live Server-Sent Events stream of a floor: a snapshot, then each change
+     * GET /api/resources/stream?floor=...
+     * Authorization: AUTHENTICATED
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFloor(@RequestParam int floor) {
+        return resourceStreamService.subscribe(floor);
+    }
+
+    /**
+     * Get resource by ID; 304 when If-None-Match holds the current version
+     * (as cached, so at most the resource cache TTL behind writes made by
+     * other instances)
      * GET /api/resources/{id}
      * Authorization: AUTHENTICATED
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ResourceResponse> getResourceById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getResourceById(@PathVariable Long id, WebRequest webRequest) {
         ResourceResponse response = resourceService.getResourceById(id);
-        return ResponseEntity.ok(response);
+        if (webRequest.checkNotModified(resourceETag(id, response.getVersion()))) {
+            // Status and ETag are already set
+            return null;
+        }
+        // Pre-encoded JSON, written as is
+        return ResponseEntity.ok()
+                .eTag(resourceETag(id, response.getVersion()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(resourceJsonService.resource(response));
     }
 
     /**
-     * Get all resources
-     * GET /api/resources
+     * Search resources by name (substring, prefix and fuzzy), best matches first
+     * GET /api/resources/search?q=...&limit=...&fuzzy=...
+     * Authorization: AUTHENTICATED
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ResourceResponse>> searchResources(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "true") boolean fuzzy) {
+        return ResponseEntity.ok(resourceService.searchResourcesByName(query, limit, fuzzy));
+    }
+
+    /**
+     * Find the AVAILABLE resources closest to a point on a floor
+     * GET /api/resources/nearest?floor=...&x=...&y=...&k=...&type=...&amenity=...
+     * Authorization: AUTHENTICATED
+     */
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyResourceResponse>> findNearestAvailable(
+            @RequestParam int floor,
+            @RequestParam double x,
+            @RequestParam double y,
+            @RequestParam(required = false) Integer k,
+            @RequestParam(required = false) ResourceType type,
+            @RequestParam(required = false) String amenity) {
+        return ResponseEntity.ok(resourceService.findNearestAvailable(floor, x, y, k, type, amenity));
+    }
+
+    /**
+     * Get all resources, filtered and keyset-paginated; 304 when If-None-Match
+     * holds the current version of the floor (or type, or catalog) queried
+     * GET /api/resources?type=...&floor=...&status=...&minCapacity=...&maxCapacity=...
+     *     &amenity=...&search=...&cursor=...&limit=...
      * Authorization: AUTHENTICATED
      */
     @GetMapping
-    public ResponseEntity<List<ResourceResponse>> getAllResources(
+    public ResponseEntity<byte[]> getAllResources(
             @RequestParam(required = false) ResourceType type,
             @RequestParam(required = false) Integer floor,
             @RequestParam(required = false) ResourceStatus status,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) Integer minCapacity,
+            @RequestParam(required = false) Integer maxCapacity,
+            @RequestParam(name = "amenity", required = false) List<String> amenities,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
 
-        List<ResourceResponse> resources;
-
-        if (search != null && !search.isBlank()) {
-            resources = resourceService.searchResourcesByName(search);
-        } else if (type != null && status != null) {
-            resources = resourceService.getResourcesByType(type).stream()
-                    .filter(r -> r.getStatus() == status)
-                    .toList();
-        } else if (type != null) {
-            resources = resourceService.getResourcesByType(type);
-        } else if (floor != null && status != null) {
-            resources = resourceService.getResourcesByFloor(floor).stream()
-                    .filter(r -> r.getStatus() == status)
-                    .toList();
-        } else if (floor != null) {
-            resources = resourceService.getResourcesByFloor(floor);
-        } else if (status != null) {
-            resources = resourceService.getResourcesByStatus(status);
-        } else {
-            resources = resourceService.getAllResources();
+        if (webRequest.checkNotModified(listETag(floor, type))) {
+            return null;
         }
+        ResourceFilter filter = buildFilter(type, floor, status, minCapacity, maxCapacity, amenities, search);
+        // The page carries the tag of the snapshot it was read from, which may be newer than the one checked
+        ResourceJsonService.ListPage page = resourceJsonService.findResources(filter, cursor, limit);
+        return ResponseEntity.ok()
+                .eTag(page.eTag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(page.json());
+    }
+
+    /**
+     * Get resources free for the whole time window, keyset-paginated
+     * GET /api/resources/free?from=...&to=...&type=...&floor=...&cursor=...&limit=...
+     * Authorization: AUTHENTICATED
+     */
+    @GetMapping("/free")
+    public ResponseEntity<CursorPage<ResourceResponse>> getFreeResources(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) ResourceType type,
+            @RequestParam(required = false) Integer floor,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(resourceService.findFreeResources(from, to, type, floor, cursor, limit));
+    }
 
-        return ResponseEntity.ok(resources);
+    /**
+     * Count resources matching the same filters as the listing
+     * GET /api/resources/count?type=...&floor=...&status=...&amenity=...
+     * Authorization: AUTHENTICATED
+     */
+    @GetMapping("/count")
+    public ResponseEntity<ResourceCountResponse> countResources(
+            @RequestParam(required = false) ResourceType type,
+            @RequestParam(required = false) Integer floor,
+            @RequestParam(required = false) ResourceStatus status,
+            @RequestParam(required = false) Integer minCapacity,
+            @RequestParam(required = false) Integer maxCapacity,
+            @RequestParam(name = "amenity", required = false) List<String> amenities,
+            @RequestParam(required = false) String search) {
+
+        ResourceFilter filter = buildFilter(type, floor, status, minCapacity, maxCapacity, amenities, search);
+        return ResponseEntity.ok(new ResourceCountResponse(resourceService.countResources(filter)));
+    }
+
+    /**
+     * Resource counts by status, type, floor and amenity, for dashboards
+     * GET /api/resources/stats
+     * Authorization: AUTHENTICATED
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ResourceStatsResponse> getStats() {
+        return ResponseEntity.ok(resourceService.getStats());
     }
 
     /**
@@ -102,6 +305,31 @@ public class ResourceController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Update many resources in one batch, with a result per item
+     * PUT /api/resources/bulk
+     * Authorization: ADMIN only
+     */
+    @PutMapping("/bulk")
+    @RequiresRole({ "ADMIN" })
+    public ResponseEntity<BulkOperationResponse> updateResources(
+            @RequestBody List<BulkUpdateResourceRequest> requests) {
+        BulkOperationResponse response = resourceBulkService.updateResources(requests);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Publish a full snapshot of the resource on resource.changed
+     * POST /api/resources/{id}/snapshot
+     * Authorization: ADMIN only
+     */
+    @PostMapping("/{id}/snapshot")
+    @RequiresRole({ "ADMIN" })
+    public ResponseEntity<ResourceResponse> publishResourceSnapshot(@PathVariable Long id) {
+        ResourceResponse response = resourceService.publishResourceSnapshot(id);
+        return ResponseEntity.accepted().body(response);
+    }
+
     /**
      * Delete resource
      * DELETE /api/resources/{id}
@@ -114,6 +342,43 @@ public class ResourceController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Delete many resources in one batch, with a result per item
+     * DELETE /api/resources/bulk?ids=...
+     * Authorization: ADMIN only
+     */
+    @DeleteMapping("/bulk")
+    @RequiresRole({ "ADMIN" })
+    public ResponseEntity<BulkOperationResponse> deleteResources(@RequestParam List<Long> ids) {
+        BulkOperationResponse response = resourceBulkService.deleteResources(ids);
+        return ResponseEntity.ok(response);
+    }
+
+    private static ResourceFilter buildFilter(ResourceType type, Integer floor, ResourceStatus status,
+            Integer minCapacity, Integer maxCapacity, List<String> amenities, String search) {
+        ResourceFilter filter = new ResourceFilter();
+        filter.setType(type);
+        filter.setFloor(floor);
+        filter.setStatus(status);
+        filter.setMinCapacity(minCapacity);
+        filter.setMaxCapacity(maxCapacity);
+        filter.setAmenities(amenities);
+        filter.setName(search);
+        return filter;
+    }
+
+    /**
+     * Strong ETag of a list: the version of the partition the filter covers
+     */
+    private String listETag(Integer floor, ResourceType type) {
+        String partition = CatalogVersionService.partition(floor, type);
+        return CatalogVersionService.eTag(partition, catalogVersionService.version(partition));
+    }
+
+    private static String resourceETag(Long id, Long version) {
+        return version != null ? "\"" + id + "-" + version + "\"" : null;
+    }
+
     /**
      * Health check endpoint
      * GET /api/resources/health
@@ -0,0 +1,131 @@
+package com.library.catalog_service.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the outcome of a bulk operation: totals plus one result per
+ * requested item, in request order
+ */
+public class BulkOperationResponse {
+    
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<ItemResult> items;
+    
+    // Constructors
+    public BulkOperationResponse() {}
+    
+    public BulkOperationResponse(int requested, int succeeded, int failed, List<ItemResult> items) {
+        this.requested = requested;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.items = items;
+    }
+    
+    public static BulkOperationResponse of(List<ItemResult> items) {
+        int succeeded = (int) items.stream().filter(item -> item.getStatus().isSuccess()).count();
+        return new BulkOperationResponse(items.size(), succeeded, items.size() - succeeded, items);
+    }
+    
+    // Getters and Setters
+    public int getRequested() {
+        return requested;
+    }
+    
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+    
+    public int getSucceeded() {
+        return succeeded;
+    }
+    
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    public List<ItemResult> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<ItemResult> items) {
+        this.items = items;
+    }
+    
+    /**
+     * Outcome of one item
+     */
+    public enum ItemStatus {
+        CREATED,
+        UPDATED,
+        DELETED,
+        INVALID,
+        DUPLICATE,
+        NOT_FOUND;
+        
+        public boolean isSuccess() {
+            return this == CREATED || this == UPDATED || this == DELETED;
+        }
+    }
+    
+    /**
+     * Result for the item at index in the request; message explains failures
+     */
+    public static class ItemResult {
+        
+        private int index;
+        private Long id;
+        private ItemStatus status;
+        private String message;
+        
+        public ItemResult() {}
+        
+        public ItemResult(int index, Long id, ItemStatus status, String message) {
+            this.index = index;
+            this.id = id;
+            this.status = status;
+            this.message = message;
+        }
+        
+        public int getIndex() {
+            return index;
+        }
+        
+        public void setIndex(int index) {
+            this.index = index;
+        }
+        
+        public Long getId() {
+            return id;
+        }
+        
+        public void setId(Long id) {
+            this.id = id;
+        }
+        
+        public ItemStatus getStatus() {
+            return status;
+        }
+        
+        public void setStatus(ItemStatus status) {
+            this.status = status;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+        
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.library.catalog_service.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO for one item of a bulk update: the resource id plus the fields to change
+ */
+public class BulkUpdateResourceRequest extends UpdateResourceRequest {
+    
+    @NotNull(message = "Id is required")
+    private Long id;
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
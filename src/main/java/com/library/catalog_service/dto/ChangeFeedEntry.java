@@ -0,0 +1,88 @@
+package com.library.catalog_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one entry of the changes feed: the current state of a created or
+ * updated resource, or a tombstone for a deleted one
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeFeedEntry {
+
+    private Long id;
+    private LocalDateTime changedAt;
+    private boolean deleted;
+    private ResourceResponse resource;
+    private long sequence;
+
+    // Constructors
+    public ChangeFeedEntry() {}
+
+    public ChangeFeedEntry(Long id, LocalDateTime changedAt, boolean deleted, ResourceResponse resource,
+                           long sequence) {
+        this.id = id;
+        this.changedAt = changedAt;
+        this.deleted = deleted;
+        this.resource = resource;
+        this.sequence = sequence;
+    }
+
+    public static ChangeFeedEntry changed(ResourceResponse resource, long sequence) {
+        return new ChangeFeedEntry(resource.getId(), resource.getUpdatedAt(), false, resource, sequence);
+    }
+
+    public static ChangeFeedEntry deleted(Long id, LocalDateTime deletedAt, long sequence) {
+        return new ChangeFeedEntry(id, deletedAt, true, null, sequence);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    /**
+     * State after the change; null for deletions
+     */
+    public ResourceResponse getResource() {
+        return resource;
+    }
+
+    public void setResource(ResourceResponse resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Change sequence of the change; the feed is ordered by it, the token carries it
+     */
+    @JsonIgnore
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+}
@@ -0,0 +1,88 @@
+package com.library.catalog_service.dto;
+
+import com.library.catalog_service.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * DTO for one page of the changes feed, oldest change first.
+ * The token is opaque and always present: pass it back to get the changes
+ * made since, whether or not this page was the last one.
+ */
+public class ChangeFeedPage {
+
+    private List<ChangeFeedEntry> items;
+    private String nextToken;
+    private boolean hasMore;
+
+    // Constructors
+    public ChangeFeedPage() {}
+
+    public ChangeFeedPage(List<ChangeFeedEntry> items, String nextToken, boolean hasMore) {
+        this.items = items;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+    }
+
+    /**
+     * Encode a feed position as an opaque token
+     */
+    public static String encodeToken(Position position) {
+        String raw = position.sequence() + "," + position.id() + "," + position.complete();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token back to its position (null when absent)
+     */
+    public static Position decodeToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(",");
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Invalid sync token: " + token);
+            }
+            return new Position(Long.parseLong(parts[0]), Long.parseLong(parts[1]), LocalDateTime.parse(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid sync token: " + token);
+        }
+    }
+
+    /**
+     * Last change returned (change sequence, id), and the time up to which
+     * the holder has seen every change, deletions included
+     */
+    public record Position(long sequence, long id, LocalDateTime complete) {
+    }
+
+    // Getters and Setters
+    public List<ChangeFeedEntry> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ChangeFeedEntry> items) {
+        this.items = items;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,135 @@
+package com.library.catalog_service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the progress and outcome of a catalog import.
+ * In a dry run the counts say what the import would do.
+ */
+public class ImportReport {
+
+    private boolean dryRun;
+    private boolean upsert;
+    private long processed;
+    private long created;
+    private long updated;
+    private long unchanged;
+    private long invalid;
+    private long duplicates;
+    private List<String> errors = new ArrayList<>();
+    private long elapsedMillis;
+
+    // Constructors
+    public ImportReport() {}
+
+    public ImportReport(boolean dryRun, boolean upsert) {
+        this.dryRun = dryRun;
+        this.upsert = upsert;
+    }
+
+    /**
+     * Record a rejected row; only the first maxErrors messages are kept
+     */
+    public void reject(long line, String message, boolean duplicate, int maxErrors) {
+        if (duplicate) {
+            duplicates++;
+        } else {
+            invalid++;
+        }
+        if (errors.size() < maxErrors) {
+            errors.add("line " + line + ": " + message);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "processed=" + processed + " created=" + created + " updated=" + updated
+                + " unchanged=" + unchanged + " invalid=" + invalid + " duplicates=" + duplicates
+                + (dryRun ? " (dry run)" : "");
+    }
+
+    // Getters and Setters
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public boolean isUpsert() {
+        return upsert;
+    }
+
+    public void setUpsert(boolean upsert) {
+        this.upsert = upsert;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(long updated) {
+        this.updated = updated;
+    }
+
+    public long getUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(long unchanged) {
+        this.unchanged = unchanged;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    public void setInvalid(long invalid) {
+        this.invalid = invalid;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(long duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    /**
+     * First error messages, each prefixed with the input line
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
@@ -0,0 +1,36 @@
+package com.library.catalog_service.dto;
+
+/**
+ * DTO for a resource returned by a nearest-resource query, with its distance
+ * (in floor-plan units) from the query point
+ */
+public class NearbyResourceResponse {
+
+    private ResourceResponse resource;
+    private double distance;
+
+    // Constructors
+    public NearbyResourceResponse() {}
+
+    public NearbyResourceResponse(ResourceResponse resource, double distance) {
+        this.resource = resource;
+        this.distance = distance;
+    }
+
+    // Getters and Setters
+    public ResourceResponse getResource() {
+        return resource;
+    }
+
+    public void setResource(ResourceResponse resource) {
+        this.resource = resource;
+    }
+
+    public double getDistance() {
+        return distance;
+    }
+
+    public void setDistance(double distance) {
+        this.distance = distance;
+    }
+}
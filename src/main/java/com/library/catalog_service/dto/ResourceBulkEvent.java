@@ -0,0 +1,66 @@
+package com.library.catalog_service.dto;
+
+import java.util.List;
+
+/**
+ * Aggregated event published on resource.bulk for a bulk operation: the
+ * created or updated resources, or the ids of the deleted ones
+ */
+public class ResourceBulkEvent {
+    
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+    
+    private Operation operation;
+    private List<ResourceResponse> resources;
+    private List<Long> ids;
+    
+    // Constructors
+    public ResourceBulkEvent() {}
+    
+    public ResourceBulkEvent(Operation operation, List<ResourceResponse> resources, List<Long> ids) {
+        this.operation = operation;
+        this.resources = resources;
+        this.ids = ids;
+    }
+    
+    public static ResourceBulkEvent created(List<ResourceResponse> resources) {
+        return new ResourceBulkEvent(Operation.CREATED, resources, resources.stream().map(ResourceResponse::getId).toList());
+    }
+    
+    public static ResourceBulkEvent updated(List<ResourceResponse> resources) {
+        return new ResourceBulkEvent(Operation.UPDATED, resources, resources.stream().map(ResourceResponse::getId).toList());
+    }
+    
+    public static ResourceBulkEvent deleted(List<Long> ids) {
+        return new ResourceBulkEvent(Operation.DELETED, List.of(), ids);
+    }
+    
+    // Getters and Setters
+    public Operation getOperation() {
+        return operation;
+    }
+    
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+    
+    public List<ResourceResponse> getResources() {
+        return resources;
+    }
+    
+    public void setResources(List<ResourceResponse> resources) {
+        this.resources = resources;
+    }
+    
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,105 @@
+package com.library.catalog_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compact resource change event published on resource.changed.
+ * <p>
+ * Carries the resource id, its version after the write and only the fields
+ * that changed, keyed by their ResourceResponse property name. A consumer
+ * that missed a version (the previous one it saw is not version - 1) or has
+ * no state for the resource should wait for the next event with a snapshot,
+ * which carries the full resource instead of changes.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResourceChangeEvent {
+
+    private Long id;
+    private Long version;
+    private Map<String, Object> changes;
+    private ResourceResponse snapshot;
+
+    // Constructors
+    public ResourceChangeEvent() {}
+
+    public ResourceChangeEvent(Long id, Long version, Map<String, Object> changes, ResourceResponse snapshot) {
+        this.id = id;
+        this.version = version;
+        this.changes = changes;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Event carrying the full state of the resource
+     */
+    public static ResourceChangeEvent snapshot(ResourceResponse resource) {
+        return new ResourceChangeEvent(resource.getId(), resource.getVersion(), null, resource);
+    }
+
+    /**
+     * Event carrying the fields that differ between the two states
+     */
+    public static ResourceChangeEvent delta(ResourceResponse previous, ResourceResponse current) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfChanged(changes, "name", previous.getName(), current.getName());
+        putIfChanged(changes, "type", previous.getType(), current.getType());
+        putIfChanged(changes, "capacity", previous.getCapacity(), current.getCapacity());
+        putIfChanged(changes, "floor", previous.getFloor(), current.getFloor());
+        putIfChanged(changes, "locationX", previous.getLocationX(), current.getLocationX());
+        putIfChanged(changes, "locationY", previous.getLocationY(), current.getLocationY());
+        putIfChanged(changes, "amenities", previous.getAmenities(), current.getAmenities());
+        putIfChanged(changes, "status", previous.getStatus(), current.getStatus());
+        putIfChanged(changes, "activeBookings", previous.getActiveBookings(), current.getActiveBookings());
+        putIfChanged(changes, "updatedAt", previous.getUpdatedAt(), current.getUpdatedAt());
+        return new ResourceChangeEvent(current.getId(), current.getVersion(), changes, null);
+    }
+
+    private static void putIfChanged(Map<String, Object> changes, String field, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            changes.put(field, after);
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Changed fields and their new values; null for snapshots
+     */
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(Map<String, Object> changes) {
+        this.changes = changes;
+    }
+
+    /**
+     * Full state of the resource; null for deltas
+     */
+    public ResourceResponse getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(ResourceResponse snapshot) {
+        this.snapshot = snapshot;
+    }
+}
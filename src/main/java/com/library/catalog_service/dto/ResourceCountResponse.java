@@ -0,0 +1,25 @@
+package com.library.catalog_service.dto;
+
+/**
+ * DTO for the number of resources matching a filter
+ */
+public class ResourceCountResponse {
+
+    private long count;
+
+    // Constructors
+    public ResourceCountResponse() {}
+
+    public ResourceCountResponse(long count) {
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,94 @@
+package com.library.catalog_service.dto;
+
+import com.library.catalog_service.entity.ResourceStatus;
+import com.library.catalog_service.entity.ResourceType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filter criteria for listing resources.
+ * Every criterion is optional; the ones that are set are combined with AND,
+ * and a resource must carry all of the listed amenities to match.
+ */
+public class ResourceFilter {
+
+    private ResourceType type;
+    private Integer floor;
+    private ResourceStatus status;
+    private Integer minCapacity;
+    private Integer maxCapacity;
+    private List<String> amenities = new ArrayList<>();
+    private String name;
+
+    /**
+     * Whether a resource satisfies every criterion of this filter
+     */
+    public boolean matches(ResourceResponse resource) {
+        return (type == null || type == resource.getType())
+                && (floor == null || floor.equals(resource.getFloor()))
+                && (status == null || status == resource.getStatus())
+                && (minCapacity == null || resource.getCapacity() >= minCapacity)
+                && (maxCapacity == null || resource.getCapacity() <= maxCapacity)
+                && resource.getAmenities().containsAll(amenities)
+                && (name == null || name.isBlank() || resource.getName().toLowerCase(Locale.ROOT)
+                        .contains(name.trim().toLowerCase(Locale.ROOT)));
+    }
+
+    // Getters and Setters
+    public ResourceType getType() {
+        return type;
+    }
+
+    public void setType(ResourceType type) {
+        this.type = type;
+    }
+
+    public Integer getFloor() {
+        return floor;
+    }
+
+    public void setFloor(Integer floor) {
+        this.floor = floor;
+    }
+
+    public ResourceStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ResourceStatus status) {
+        this.status = status;
+    }
+
+    public Integer getMinCapacity() {
+        return minCapacity;
+    }
+
+    public void setMinCapacity(Integer minCapacity) {
+        this.minCapacity = minCapacity;
+    }
+
+    public Integer getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public void setMaxCapacity(Integer maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+
+    public List<String> getAmenities() {
+        return amenities;
+    }
+
+    public void setAmenities(List<String> amenities) {
+        this.amenities = amenities != null ? amenities : new ArrayList<>();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -4,6 +4,7 @@ import com.library.catalog_service.entity.Resource;
 import com.library.catalog_service.entity.ResourceStatus;
 import com.library.catalog_service.entity.ResourceType;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -20,16 +21,18 @@ public class ResourceResponse {
     private Float locationY;
     private List<String> amenities;
     private ResourceStatus status;
+    private Integer activeBookings;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     
     // Constructors
     public ResourceResponse() {}
     
     public ResourceResponse(Long id, String name, ResourceType type, Integer capacity, 
                            Integer floor, Float locationX, Float locationY, 
-                           List<String> amenities, ResourceStatus status,
-                           LocalDateTime createdAt, LocalDateTime updatedAt) {
+                           List<String> amenities, ResourceStatus status, Integer activeBookings,
+                           LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
         this.id = id;
         this.name = name;
         this.type = type;
@@ -39,12 +42,16 @@ public class ResourceResponse {
         this.locationY = locationY;
         this.amenities = amenities;
         this.status = status;
+        this.activeBookings = activeBookings;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
     
     /**
-     * Convert Resource entity to ResourceResponse DTO
+     * Convert Resource entity to ResourceResponse DTO.
+     * Amenities are copied so the lazy collection is initialized while the
+     * session is still open and the DTO never holds a Hibernate collection.
      */
     public static ResourceResponse fromResource(Resource resource) {
         return new ResourceResponse(
@@ -55,10 +62,12 @@ public class ResourceResponse {
             resource.getFloor(),
             resource.getLocationX(),
             resource.getLocationY(),
-            resource.getAmenities(),
+            new ArrayList<>(resource.getAmenities()),
             resource.getStatus(),
+            resource.getActiveBookings(),
             resource.getCreatedAt(),
-            resource.getUpdatedAt()
+            resource.getUpdatedAt(),
+            resource.getVersion()
         );
     }
     
@@ -135,6 +144,24 @@ public class ResourceResponse {
         this.status = status;
     }
     
+    public Integer getActiveBookings() {
+        return activeBookings;
+    }
+    
+    public void setActiveBookings(Integer activeBookings) {
+        this.activeBookings = activeBookings;
+    }
+    
+    /**
+     * Bookings that can still be taken before the resource is full
+     */
+    public Integer getRemainingCapacity() {
+        if (capacity == null) {
+            return null;
+        }
+        return Math.max(capacity - (activeBookings != null ? activeBookings : 0), 0);
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -150,9 +177,15 @@ public class ResourceResponse {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    /**
+     * Incremented on every write to the resource
+     */
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
-
-
-
-
-
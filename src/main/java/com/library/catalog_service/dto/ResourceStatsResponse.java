@@ -0,0 +1,178 @@
+package com.library.catalog_service.dto;
+
+import com.library.catalog_service.entity.ResourceStatus;
+import com.library.catalog_service.entity.ResourceType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for catalog facet counts: totals per status, type and floor, the full
+ * floor, type and status breakdown, and per-amenity counts by status.
+ * Combinations without any resource are omitted.
+ */
+public class ResourceStatsResponse {
+
+    private long total;
+    private Map<ResourceStatus, Long> byStatus;
+    private Map<ResourceType, Long> byType;
+    private Map<Integer, Long> byFloor;
+    private List<FacetCount> facets;
+    private List<AmenityCount> amenities;
+
+    // Constructors
+    public ResourceStatsResponse() {}
+
+    public ResourceStatsResponse(long total, Map<ResourceStatus, Long> byStatus, Map<ResourceType, Long> byType,
+            Map<Integer, Long> byFloor, List<FacetCount> facets, List<AmenityCount> amenities) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.byType = byType;
+        this.byFloor = byFloor;
+        this.facets = facets;
+        this.amenities = amenities;
+    }
+
+    // Getters and Setters
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<ResourceStatus, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<ResourceStatus, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<ResourceType, Long> getByType() {
+        return byType;
+    }
+
+    public void setByType(Map<ResourceType, Long> byType) {
+        this.byType = byType;
+    }
+
+    public Map<Integer, Long> getByFloor() {
+        return byFloor;
+    }
+
+    public void setByFloor(Map<Integer, Long> byFloor) {
+        this.byFloor = byFloor;
+    }
+
+    public List<FacetCount> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(List<FacetCount> facets) {
+        this.facets = facets;
+    }
+
+    public List<AmenityCount> getAmenities() {
+        return amenities;
+    }
+
+    public void setAmenities(List<AmenityCount> amenities) {
+        this.amenities = amenities;
+    }
+
+    /**
+     * Number of resources on one floor with one type and status
+     */
+    public static class FacetCount {
+
+        private Integer floor;
+        private ResourceType type;
+        private ResourceStatus status;
+        private long count;
+
+        public FacetCount() {}
+
+        public FacetCount(Integer floor, ResourceType type, ResourceStatus status, long count) {
+            this.floor = floor;
+            this.type = type;
+            this.status = status;
+            this.count = count;
+        }
+
+        public Integer getFloor() {
+            return floor;
+        }
+
+        public void setFloor(Integer floor) {
+            this.floor = floor;
+        }
+
+        public ResourceType getType() {
+            return type;
+        }
+
+        public void setType(ResourceType type) {
+            this.type = type;
+        }
+
+        public ResourceStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(ResourceStatus status) {
+            this.status = status;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+
+    /**
+     * Number of resources with one amenity and status
+     */
+    public static class AmenityCount {
+
+        private String amenity;
+        private ResourceStatus status;
+        private long count;
+
+        public AmenityCount() {}
+
+        public AmenityCount(String amenity, ResourceStatus status, long count) {
+            this.amenity = amenity;
+            this.status = status;
+            this.count = count;
+        }
+
+        public String getAmenity() {
+            return amenity;
+        }
+
+        public void setAmenity(String amenity) {
+            this.amenity = amenity;
+        }
+
+        public ResourceStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(ResourceStatus status) {
+            this.status = status;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+}
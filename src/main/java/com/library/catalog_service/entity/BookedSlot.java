@@ -0,0 +1,86 @@
+package com.library.catalog_service.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Time slot held by a booking, kept so future availability can be answered
+ * without asking booking-service. The row is also the record of whether the
+ * booking has been counted: it is inserted by the first created event and
+ * marked ended (not deleted) by the first cancel or complete, so redelivered
+ * events find it and change nothing. Purged some time after the booking
+ * ended. A booking without times gets an empty slot at the time it was seen.
+ */
+@Entity
+@Table(name = "booked_slots", indexes = {
+    @Index(name = "idx_booked_slots_end_time", columnList = "end_time")
+})
+public class BookedSlot {
+    
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+    
+    @Column(name = "resource_id", nullable = false)
+    private Long resourceId;
+    
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+    
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+    
+    @Column(name = "ended_at")
+    private LocalDateTime endedAt;
+    
+    // Constructors
+    public BookedSlot() {}
+    
+    public BookedSlot(Long bookingId, Long resourceId, LocalDateTime startTime, LocalDateTime endTime) {
+        this.bookingId = bookingId;
+        this.resourceId = resourceId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+    
+    // Getters and Setters
+    public Long getBookingId() {
+        return bookingId;
+    }
+    
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+    
+    public Long getResourceId() {
+        return resourceId;
+    }
+    
+    public void setResourceId(Long resourceId) {
+        this.resourceId = resourceId;
+    }
+    
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+    
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+    
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+    
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+    
+    public LocalDateTime getEndedAt() {
+        return endedAt;
+    }
+    
+    public void setEndedAt(LocalDateTime endedAt) {
+        this.endedAt = endedAt;
+    }
+}
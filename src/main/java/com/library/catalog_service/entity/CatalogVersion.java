@@ -0,0 +1,44 @@
+package com.library.catalog_service.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Version of one floor ("f3") or type ("tSTUDY_ROOM"), bumped by every
+ * transaction that writes resources in it.
+ */
+@Entity
+@Table(name = "catalog_versions")
+public class CatalogVersion {
+    
+    @Id
+    @Column(name = "partition_key", length = 64)
+    private String partitionKey;
+    
+    @Column(nullable = false)
+    private Long version;
+    
+    // Constructors
+    public CatalogVersion() {}
+    
+    public CatalogVersion(String partitionKey, Long version) {
+        this.partitionKey = partitionKey;
+        this.version = version;
+    }
+    
+    // Getters and Setters
+    public String getPartitionKey() {
+        return partitionKey;
+    }
+    
+    public void setPartitionKey(String partitionKey) {
+        this.partitionKey = partitionKey;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,146 @@
+package com.library.catalog_service.entity;
+
+import jakarta.persistence.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Message waiting to be published to RabbitMQ, written in the same transaction
+ * as the change it describes and deleted by the relay once the broker has
+ * confirmed it
+ */
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String exchange;
+    
+    @Column(name = "routing_key", nullable = false)
+    private String routingKey;
+    
+    // Content type of the message; null for rows written before it was recorded (JSON)
+    @Column(name = "content_type")
+    private String contentType;
+    
+    // Type id header of the message, so consumers deserialize as before
+    @Column(name = "payload_type")
+    private String payloadType;
+    
+    // Message body: text formats as is, binary formats Base64-encoded
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+    
+    // Events with the same key supersede each other within a relay batch; null = always sent
+    @Column(name = "coalesce_key")
+    private String coalesceKey;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public OutboxEvent() {}
+    
+    public OutboxEvent(String exchange, String routingKey, String contentType, String payloadType,
+                       byte[] body, String coalesceKey) {
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        this.contentType = contentType;
+        this.payloadType = payloadType;
+        this.payload = isText(contentType)
+                ? new String(body, StandardCharsets.UTF_8)
+                : Base64.getEncoder().encodeToString(body);
+        this.coalesceKey = coalesceKey;
+    }
+    
+    /**
+     * Message body as it was serialized
+     */
+    public byte[] getBody() {
+        return isText(contentType)
+                ? payload.getBytes(StandardCharsets.UTF_8)
+                : Base64.getDecoder().decode(payload);
+    }
+    
+    /**
+     * Whether the content type is stored as text (JSON and text types)
+     */
+    public static boolean isText(String contentType) {
+        return contentType == null || contentType.startsWith("text/") || contentType.contains("json");
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getExchange() {
+        return exchange;
+    }
+    
+    public void setExchange(String exchange) {
+        this.exchange = exchange;
+    }
+    
+    public String getRoutingKey() {
+        return routingKey;
+    }
+    
+    public void setRoutingKey(String routingKey) {
+        this.routingKey = routingKey;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+    
+    public String getPayloadType() {
+        return payloadType;
+    }
+    
+    public void setPayloadType(String payloadType) {
+        this.payloadType = payloadType;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public String getCoalesceKey() {
+        return coalesceKey;
+    }
+    
+    public void setCoalesceKey(String coalesceKey) {
+        this.coalesceKey = coalesceKey;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
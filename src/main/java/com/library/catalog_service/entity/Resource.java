@@ -1,6 +1,8 @@
 package com.library.catalog_service.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,11 +11,20 @@ import java.util.List;
  * Resource entity representing a bookable library resource (seat, room, etc.)
  */
 @Entity
-@Table(name = "resources")
+@Table(name = "resources", indexes = {
+    @Index(name = "idx_resources_status_id", columnList = "status, id"),
+    @Index(name = "idx_resources_type_status_id", columnList = "type, status, id"),
+    @Index(name = "idx_resources_floor_status_id", columnList = "floor, status, id"),
+    @Index(name = "idx_resources_floor_type_status_id", columnList = "floor, type, status, id"),
+    @Index(name = "idx_resources_name", columnList = "name"),
+    @Index(name = "idx_resources_change_seq_id", columnList = "change_seq, id")
+})
 public class Resource {
     
+    // Pooled sequence: ids are allocated 50 at a time so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resources_seq")
+    @SequenceGenerator(name = "resources_seq", sequenceName = "resources_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -35,8 +46,11 @@ public class Resource {
     @Column(name = "location_y")
     private Float locationY;
     
+    // Batch-fetched so a page of resources loads its amenities in one statement
     @ElementCollection
-    @CollectionTable(name = "resource_amenities", joinColumns = @JoinColumn(name = "resource_id"))
+    @BatchSize(size = 256)
+    @CollectionTable(name = "resource_amenities", joinColumns = @JoinColumn(name = "resource_id"),
+            indexes = @Index(name = "idx_resource_amenities_resource_amenity", columnList = "resource_id, amenity"))
     @Column(name = "amenity")
     private List<String> amenities = new ArrayList<>();
     
@@ -44,12 +58,29 @@ public class Resource {
     @Column(nullable = false)
     private ResourceStatus status = ResourceStatus.AVAILABLE;
     
+    // Bookings currently holding the resource; changed atomically by booking events.
+    // Starts at 0 for resources that predate the column, see "Seeding active bookings" in the README
+    @Column(name = "active_bookings", nullable = false)
+    @ColumnDefault("0")
+    private Integer activeBookings = 0;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Change sequence of the last write, stamped right before commit by CatalogVersionService; orders the changes feed
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long changeSeq;
+    
+    // Optimistic lock; bulk updates bump it explicitly
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -144,6 +175,33 @@ public class Resource {
         this.status = status;
     }
     
+    public Integer getActiveBookings() {
+        return activeBookings;
+    }
+    
+    public void setActiveBookings(Integer activeBookings) {
+        this.activeBookings = activeBookings;
+    }
+    
+    /**
+     * Status implied by the active bookings: UNAVAILABLE once they fill the
+     * capacity, otherwise AVAILABLE. MAINTENANCE is only changed by an admin.
+     */
+    public ResourceStatus bookingStatus() {
+        if (status == ResourceStatus.MAINTENANCE) {
+            return status;
+        }
+        return bookingStatus(activeBookings, capacity);
+    }
+    
+    /**
+     * Status a resource with this many active bookings and this capacity has
+     * outside maintenance
+     */
+    public static ResourceStatus bookingStatus(int activeBookings, int capacity) {
+        return activeBookings >= capacity ? ResourceStatus.UNAVAILABLE : ResourceStatus.AVAILABLE;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -159,6 +217,22 @@ public class Resource {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+    
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
 
 
@@ -0,0 +1,63 @@
+package com.library.catalog_service.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind by a deleted resource so the changes feed can report
+ * the deletion, at the change sequence of the deleting transaction. Purged
+ * once older than the feed retention.
+ */
+@Entity
+@Table(name = "resource_tombstones", indexes = {
+    @Index(name = "idx_resource_tombstones_deleted_at_resource_id", columnList = "deleted_at, resource_id"),
+    @Index(name = "idx_resource_tombstones_change_seq_resource_id", columnList = "change_seq, resource_id")
+})
+public class ResourceTombstone {
+    
+    @Id
+    @Column(name = "resource_id")
+    private Long resourceId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    
+    @Column(name = "change_seq", nullable = false)
+    @ColumnDefault("0")
+    private Long changeSeq;
+    
+    // Constructors
+    public ResourceTombstone() {}
+    
+    public ResourceTombstone(Long resourceId, LocalDateTime deletedAt, Long changeSeq) {
+        this.resourceId = resourceId;
+        this.deletedAt = deletedAt;
+        this.changeSeq = changeSeq;
+    }
+    
+    // Getters and Setters
+    public Long getResourceId() {
+        return resourceId;
+    }
+    
+    public void setResourceId(Long resourceId) {
+        this.resourceId = resourceId;
+    }
+    
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+    
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+    
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+    
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+}
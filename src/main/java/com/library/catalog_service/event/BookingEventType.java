@@ -0,0 +1,48 @@
+package com.library.catalog_service.event;
+
+import com.library.catalog_service.config.RabbitMQConfig;
+
+/**
+ * Kinds of booking event consumed from booking-service, the queue each one
+ * arrives on and how it changes the active bookings of the booked resource
+ */
+public enum BookingEventType {
+    CREATED(RabbitMQConfig.CATALOG_BOOKING_CREATED_QUEUE, 1),
+    CANCELED(RabbitMQConfig.CATALOG_BOOKING_CANCELED_QUEUE, -1),
+    COMPLETED(RabbitMQConfig.CATALOG_BOOKING_COMPLETED_QUEUE, -1);
+
+    private final String queue;
+    private final int bookingDelta;
+
+    BookingEventType(String queue, int bookingDelta) {
+        this.queue = queue;
+        this.bookingDelta = bookingDelta;
+    }
+
+    /**
+     * The event type consumed from a queue, or null for an unknown queue
+     */
+    public static BookingEventType fromQueue(String queue) {
+        for (BookingEventType type : values()) {
+            if (type.queue.equals(queue)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    public String getQueue() {
+        return queue;
+    }
+
+    public int getBookingDelta() {
+        return bookingDelta;
+    }
+
+    /**
+     * Whether the booking no longer holds the resource after this event
+     */
+    public boolean endsBooking() {
+        return bookingDelta < 0;
+    }
+}
@@ -0,0 +1,71 @@
+package com.library.catalog_service.event;
+
+import com.library.catalog_service.dto.ResourceResponse;
+
+/**
+ * In-process event raised by ResourceService for every write to a resource.
+ * Components that keep an in-memory view of the catalog listen for it after
+ * the surrounding transaction commits.
+ */
+public class ResourceChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final ChangeType changeType;
+    private final Long resourceId;
+    private final ResourceResponse previous;
+    private final ResourceResponse current;
+
+    private ResourceChangedEvent(ChangeType changeType, Long resourceId,
+                                 ResourceResponse previous, ResourceResponse current) {
+        this.changeType = changeType;
+        this.resourceId = resourceId;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public static ResourceChangedEvent created(ResourceResponse current) {
+        return new ResourceChangedEvent(ChangeType.CREATED, current.getId(), null, current);
+    }
+
+    /**
+     * @param previous state before the write, or null when it was not loaded
+     */
+    public static ResourceChangedEvent updated(ResourceResponse previous, ResourceResponse current) {
+        return new ResourceChangedEvent(ChangeType.UPDATED, current.getId(), previous, current);
+    }
+
+    public static ResourceChangedEvent deleted(ResourceResponse previous) {
+        return new ResourceChangedEvent(ChangeType.DELETED, previous.getId(), previous, null);
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    /**
+     * State before the write; null for creations and when not known
+     */
+    public ResourceResponse getPrevious() {
+        return previous;
+    }
+
+    /**
+     * State after the write; null for deletions
+     */
+    public ResourceResponse getCurrent() {
+        return current;
+    }
+
+    public boolean isDeletion() {
+        return changeType == ChangeType.DELETED;
+    }
+}
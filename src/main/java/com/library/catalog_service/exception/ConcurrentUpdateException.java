@@ -0,0 +1,12 @@
+package com.library.catalog_service.exception;
+
+/**
+ * Exception thrown when a resource keeps being modified concurrently and an
+ * update could not be applied within the configured number of attempts
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+    
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+}
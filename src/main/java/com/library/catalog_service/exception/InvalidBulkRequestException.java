@@ -0,0 +1,11 @@
+package com.library.catalog_service.exception;
+
+/**
+ * Exception thrown when a bulk request is empty or has too many items
+ */
+public class InvalidBulkRequestException extends RuntimeException {
+    
+    public InvalidBulkRequestException(String message) {
+        super(message);
+    }
+}
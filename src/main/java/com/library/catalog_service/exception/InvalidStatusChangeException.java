@@ -0,0 +1,11 @@
+package com.library.catalog_service.exception;
+
+/**
+ * Exception thrown when an update requests a status the resource's active bookings contradict
+ */
+public class InvalidStatusChangeException extends RuntimeException {
+    
+    public InvalidStatusChangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.library.catalog_service.exception;
+
+/**
+ * Exception thrown when a requested time range is empty or reversed
+ */
+public class InvalidTimeRangeException extends RuntimeException {
+    
+    public InvalidTimeRangeException(String message) {
+        super(message);
+    }
+}
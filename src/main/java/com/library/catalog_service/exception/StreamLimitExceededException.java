@@ -0,0 +1,11 @@
+package com.library.catalog_service.exception;
+
+/**
+ * Exception thrown when no more live streams can be opened
+ */
+public class StreamLimitExceededException extends RuntimeException {
+    
+    public StreamLimitExceededException(String message) {
+        super(message);
+    }
+}
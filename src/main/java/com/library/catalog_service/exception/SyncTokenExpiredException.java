@@ -0,0 +1,12 @@
+package com.library.catalog_service.exception;
+
+/**
+ * Exception thrown when a sync token is older than the tombstone retention,
+ * so deletions since then may no longer be known
+ */
+public class SyncTokenExpiredException extends RuntimeException {
+    
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
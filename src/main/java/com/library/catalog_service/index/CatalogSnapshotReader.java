@@ -0,0 +1,63 @@
+package com.library.catalog_service.index;
+
+import com.library.catalog_service.dto.ResourceFilter;
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.repository.ResourceRepository;
+import com.library.catalog_service.repository.ResourceSpecifications;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the whole catalog in id order, one short read-only transaction per
+ * batch, so in-memory views can be (re)built without holding every entity
+ * or a long-running transaction.
+ */
+@Component
+public class CatalogSnapshotReader {
+
+    private final ResourceRepository resourceRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int batchSize;
+
+    public CatalogSnapshotReader(ResourceRepository resourceRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${catalog.index.load-batch-size:1000}") int batchSize) {
+        this.resourceRepository = resourceRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Feed every resource to the consumer and return how many there were
+     */
+    public int forEach(Consumer<ResourceResponse> consumer) {
+        long afterId = 0L;
+        int read = 0;
+        List<ResourceResponse> batch;
+        do {
+            batch = readBatch(afterId);
+            batch.forEach(consumer);
+            read += batch.size();
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+        return read;
+    }
+
+    private List<ResourceResponse> readBatch(long afterId) {
+        return readOnlyTransaction.execute(status -> resourceRepository.findBy(
+                        ResourceSpecifications.matching(new ResourceFilter(), afterId),
+                        query -> query.sortBy(Sort.by("id")).limit(batchSize).all())
+                .stream()
+                .map(ResourceResponse::fromResource)
+                .toList());
+    }
+}
@@ -0,0 +1,349 @@
+package com.library.catalog_service.index;
+
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.entity.BookedSlot;
+import com.library.catalog_service.entity.ResourceStatus;
+import com.library.catalog_service.entity.ResourceType;
+import com.library.catalog_service.repository.BookedSlotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Booked time slots per resource, for "which resources are free between t1
+ * and t2" queries.
+ * <p>
+ * Each resource keeps its slots ordered by start time along with the longest
+ * slot duration, so the slots overlapping [t1, t2) are found by a range scan
+ * over starts in [t1 - longest, t2). A resource is free when the number of
+ * bookings overlapping at any instant of the window stays below its capacity.
+ * Resource ids are also kept per floor and per type, so a filtered query only
+ * walks the resources that match it.
+ * <p>
+ * All slots are also ordered by end time: eviction takes only the slots that
+ * have ended, in small batches, releasing the lock in between.
+ * <p>
+ * Resource attributes are maintained by {@link ResourceIndexMaintainer};
+ * slots are loaded from the booked_slots table at startup, then added and
+ * removed as booking events are applied. Slots are dropped from memory once
+ * they have ended; their rows are kept for catalog.availability.retain-ended
+ * longer, so a late complete or cancel still finds the booking it ends.
+ */
+@Component
+public class ResourceAvailabilityIndex implements ResourceIndex, SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceAvailabilityIndex.class);
+
+    // Slots evicted per hold of the write lock
+    private static final int EVICTION_BATCH_SIZE = 500;
+
+    private final BookedSlotRepository bookedSlotRepository;
+    private final int loadBatchSize;
+    private final Duration retainEnded;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<Long, Bookable> resources = new TreeMap<>();
+    private final Map<Integer, NavigableSet<Long>> idsByFloor = new HashMap<>();
+    private final Map<ResourceType, NavigableSet<Long>> idsByType = new HashMap<>();
+    private final Map<Long, Timeline> timelines = new HashMap<>();
+    private final Map<Long, Slot> slotsByBooking = new HashMap<>();
+    private final TreeSet<Slot> slotsByEnd = new TreeSet<>(Slot.END_ORDER);
+
+    public ResourceAvailabilityIndex(BookedSlotRepository bookedSlotRepository,
+            @Value("${catalog.index.load-batch-size:1000}") int loadBatchSize,
+            @Value("${catalog.availability.retain-ended:7d}") Duration retainEnded) {
+        this.bookedSlotRepository = bookedSlotRepository;
+        this.loadBatchSize = loadBatchSize;
+        this.retainEnded = retainEnded;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        LocalDateTime now = LocalDateTime.now();
+        long afterBookingId = Long.MIN_VALUE;
+        int loaded = 0;
+        List<BookedSlot> batch;
+        do {
+            batch = bookedSlotRepository.findByEndTimeAfterAndEndedAtIsNullAndBookingIdGreaterThanOrderByBookingId(now,
+                    afterBookingId, Limit.of(loadBatchSize));
+            book(batch);
+            loaded += batch.size();
+            if (!batch.isEmpty()) {
+                afterBookingId = batch.get(batch.size() - 1).getBookingId();
+            }
+        } while (batch.size() == loadBatchSize);
+        logger.info("Loaded {} booked slots", loaded);
+    }
+
+    @Override
+    public void put(ResourceResponse resource) {
+        Bookable bookable = new Bookable(resource.getId(), resource.getType(), resource.getFloor(),
+                resource.getCapacity(), resource.getStatus());
+        lock.writeLock().lock();
+        try {
+            Bookable previous = resources.put(bookable.id(), bookable);
+            if (previous != null) {
+                unlist(previous);
+            }
+            if (bookable.floor() != null) {
+                idsByFloor.computeIfAbsent(bookable.floor(), floor -> new TreeSet<>()).add(bookable.id());
+            }
+            if (bookable.type() != null) {
+                idsByType.computeIfAbsent(bookable.type(), type -> new TreeSet<>()).add(bookable.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long resourceId) {
+        lock.writeLock().lock();
+        try {
+            Bookable previous = resources.remove(resourceId);
+            if (previous != null) {
+                unlist(previous);
+            }
+            Timeline timeline = timelines.remove(resourceId);
+            if (timeline != null) {
+                timeline.slots().forEach(slot -> {
+                    slotsByBooking.remove(slot.bookingId());
+                    slotsByEnd.remove(slot);
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add (or move) the slots of booked bookings
+     */
+    public void book(Collection<BookedSlot> bookedSlots) {
+        if (bookedSlots.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (BookedSlot booked : bookedSlots) {
+                removeSlot(booked.getBookingId());
+                Slot slot = new Slot(booked.getBookingId(), booked.getResourceId(), booked.getStartTime(),
+                        booked.getEndTime());
+                timelines.computeIfAbsent(slot.resourceId(), id -> new Timeline()).add(slot);
+                slotsByBooking.put(slot.bookingId(), slot);
+                slotsByEnd.add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the slots of bookings that were canceled or completed
+     */
+    public void release(Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            bookingIds.forEach(this::removeSlot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The smallest ids greater than afterId among resources free for the whole
+     * of [from, to), ascending. Type and floor are optional filters; resources
+     * under maintenance are never free.
+     */
+    public List<Long> freeIds(LocalDateTime from, LocalDateTime to, ResourceType type, Integer floor,
+                              long afterId, int limit) {
+        List<Long> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(type, floor).tailSet(afterId, false)) {
+                if (ids.size() == limit) {
+                    break;
+                }
+                Bookable resource = resources.get(id);
+                if (resource.status() == ResourceStatus.MAINTENANCE
+                        || (type != null && resource.type() != type)
+                        || (floor != null && !floor.equals(resource.floor()))) {
+                    continue;
+                }
+                Timeline timeline = timelines.get(resource.id());
+                if (timeline == null || timeline.peakOverlap(from, to) < resource.capacity()) {
+                    ids.add(resource.id());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    /**
+     * Drop slots that have ended from memory, and from the database once
+     * their booking has been ended for longer than the retention
+     */
+    @Scheduled(fixedDelayString = "${catalog.availability.eviction-interval:1m}")
+    public void evictEnded() {
+        LocalDateTime now = LocalDateTime.now();
+        int evicted = 0;
+        int batch;
+        do {
+            batch = 0;
+            lock.writeLock().lock();
+            try {
+                while (batch < EVICTION_BATCH_SIZE && !slotsByEnd.isEmpty()
+                        && !slotsByEnd.first().end().isAfter(now)) {
+                    removeSlot(slotsByEnd.first().bookingId());
+                    batch++;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            evicted += batch;
+        } while (batch == EVICTION_BATCH_SIZE);
+        int deleted = bookedSlotRepository.deleteEndedBy(now.minus(retainEnded));
+        if (evicted > 0 || deleted > 0) {
+            logger.debug("Evicted {} ended booked slots ({} rows deleted)", evicted, deleted);
+        }
+    }
+
+    /**
+     * Ids of the narrowest set of resources that can match the filters
+     */
+    private NavigableSet<Long> candidates(ResourceType type, Integer floor) {
+        if (floor != null) {
+            return idsByFloor.getOrDefault(floor, Collections.emptyNavigableSet());
+        }
+        if (type != null) {
+            return idsByType.getOrDefault(type, Collections.emptyNavigableSet());
+        }
+        return resources.navigableKeySet();
+    }
+
+    private void unlist(Bookable resource) {
+        unlist(idsByFloor, resource.floor(), resource.id());
+        unlist(idsByType, resource.type(), resource.id());
+    }
+
+    private static <K> void unlist(Map<K, NavigableSet<Long>> ids, K key, Long id) {
+        NavigableSet<Long> set = key != null ? ids.get(key) : null;
+        if (set != null) {
+            set.remove(id);
+            if (set.isEmpty()) {
+                ids.remove(key);
+            }
+        }
+    }
+
+    private void removeSlot(Long bookingId) {
+        Slot existing = slotsByBooking.remove(bookingId);
+        if (existing == null) {
+            return;
+        }
+        slotsByEnd.remove(existing);
+        Timeline timeline = timelines.get(existing.resourceId());
+        timeline.remove(existing);
+        if (timeline.isEmpty()) {
+            timelines.remove(existing.resourceId());
+        }
+    }
+
+    private record Bookable(Long id, ResourceType type, Integer floor, int capacity, ResourceStatus status) {}
+
+    private record Slot(Long bookingId, Long resourceId, LocalDateTime start, LocalDateTime end) {
+
+        static final Comparator<Slot> END_ORDER = Comparator.comparing(Slot::end).thenComparing(Slot::bookingId);
+
+        Duration duration() {
+            return Duration.between(start, end);
+        }
+    }
+
+    /**
+     * Slots of one resource ordered by start, plus a count of slots per
+     * duration whose largest key bounds how far back an overlapping slot can
+     * start
+     */
+    private static class Timeline {
+
+        private final TreeMap<LocalDateTime, List<Slot>> byStart = new TreeMap<>();
+        private final TreeMap<Duration, Integer> durations = new TreeMap<>();
+
+        void add(Slot slot) {
+            byStart.computeIfAbsent(slot.start(), start -> new ArrayList<>(1)).add(slot);
+            durations.merge(slot.duration(), 1, Integer::sum);
+        }
+
+        void remove(Slot slot) {
+            List<Slot> starting = byStart.get(slot.start());
+            if (starting != null && starting.remove(slot)) {
+                if (starting.isEmpty()) {
+                    byStart.remove(slot.start());
+                }
+                durations.computeIfPresent(slot.duration(), (duration, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+
+        boolean isEmpty() {
+            return byStart.isEmpty();
+        }
+
+        List<Slot> slots() {
+            List<Slot> all = new ArrayList<>();
+            byStart.values().forEach(all::addAll);
+            return all;
+        }
+
+        Duration longest() {
+            return durations.isEmpty() ? Duration.ZERO : durations.lastKey();
+        }
+
+        /**
+         * Largest number of slots overlapping at a single instant of [from, to)
+         */
+        int peakOverlap(LocalDateTime from, LocalDateTime to) {
+            // Sweep over starts (+1) and ends (-1) of the overlapping slots; an end sorts before a start at the same instant
+            List<Map.Entry<LocalDateTime, Integer>> edges = new ArrayList<>();
+            for (List<Slot> starting : byStart.subMap(from.minus(longest()), true, to, false).values()) {
+                for (Slot slot : starting) {
+                    if (slot.end().isAfter(from)) {
+                        edges.add(Map.entry(slot.start().isBefore(from) ? from : slot.start(), 1));
+                        edges.add(Map.entry(slot.end(), -1));
+                    }
+                }
+            }
+            edges.sort(Map.Entry.<LocalDateTime, Integer>comparingByKey().thenComparing(Map.Entry.comparingByValue()));
+            int current = 0;
+            int peak = 0;
+            for (Map.Entry<LocalDateTime, Integer> edge : edges) {
+                current += edge.getValue();
+                peak = Math.max(peak, current);
+            }
+            return peak;
+        }
+    }
+}
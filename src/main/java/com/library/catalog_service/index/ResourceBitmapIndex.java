@@ -0,0 +1,207 @@
+package com.library.catalog_service.index;
+
+import com.library.catalog_service.dto.ResourceFilter;
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.entity.ResourceStatus;
+import com.library.catalog_service.entity.ResourceType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap index over status, type, floor and amenities.
+ * <p>
+ * Every resource gets a dense ordinal (freed ordinals are reused) and each
+ * status, type, floor and amenity value owns a bitmap of the ordinals that
+ * carry it. A query ORs the bitmaps of the values accepted within one
+ * dimension and ANDs the dimensions together, so "available on floor 3 with
+ * a power outlet" is three bitmap ANDs however large the catalog is.
+ * Ordinals are also kept in id order, so a keyset page walks ids from the
+ * cursor on and stops once it has found enough matches.
+ * <p>
+ * Maintained by {@link ResourceIndexMaintainer}.
+ */
+@Component
+public class ResourceBitmapIndex implements ResourceIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, Integer> ordinals = new TreeMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final Map<ResourceStatus, BitSet> byStatus = new EnumMap<>(ResourceStatus.class);
+    private final Map<ResourceType, BitSet> byType = new EnumMap<>(ResourceType.class);
+    private final Map<Integer, BitSet> byFloor = new HashMap<>();
+    private final Map<String, BitSet> byAmenity = new HashMap<>();
+
+    @Override
+    public void put(ResourceResponse resource) {
+        Entry entry = new Entry(resource.getId(), resource.getStatus(), resource.getType(),
+                resource.getFloor(), Set.copyOf(resource.getAmenities()));
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(entry.id());
+            if (ordinal != null) {
+                clearBits(ordinal, entries.get(ordinal));
+            } else {
+                ordinal = allocateOrdinal();
+                ordinals.put(entry.id(), ordinal);
+            }
+            entries.set(ordinal, entry);
+            live.set(ordinal);
+            byStatus.computeIfAbsent(entry.status(), key -> new BitSet()).set(ordinal);
+            byType.computeIfAbsent(entry.type(), key -> new BitSet()).set(ordinal);
+            byFloor.computeIfAbsent(entry.floor(), key -> new BitSet()).set(ordinal);
+            for (String amenity : entry.amenities()) {
+                byAmenity.computeIfAbsent(amenity, key -> new BitSet()).set(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long resourceId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(resourceId);
+            if (ordinal == null) {
+                return;
+            }
+            clearBits(ordinal, entries.get(ordinal));
+            live.clear(ordinal);
+            entries.set(ordinal, null);
+            freeOrdinals.push(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the filter only uses dimensions this index covers
+     */
+    public boolean canAnswer(ResourceFilter filter) {
+        return filter.getMinCapacity() == null && filter.getMaxCapacity() == null
+                && (filter.getName() == null || filter.getName().isBlank());
+    }
+
+    /**
+     * Number of resources matching the query
+     */
+    public int count(Query query) {
+        lock.readLock().lock();
+        try {
+            return evaluate(query).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The smallest ids greater than afterId among resources matching the query, ascending
+     */
+    public List<Long> matchingIds(Query query, long afterId, int limit) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, 256));
+        lock.readLock().lock();
+        try {
+            BitSet matches = evaluate(query);
+            if (matches.isEmpty()) {
+                return ids;
+            }
+            for (Map.Entry<Long, Integer> ordinal : ordinals.tailMap(afterId, false).entrySet()) {
+                if (ids.size() >= limit) {
+                    break;
+                }
+                if (matches.get(ordinal.getValue())) {
+                    ids.add(ordinal.getKey());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    /**
+     * Values within a dimension are ORed, dimensions are ANDed; an empty set
+     * leaves the dimension unconstrained and every listed amenity is required
+     */
+    private BitSet evaluate(Query query) {
+        BitSet result = (BitSet) live.clone();
+        if (!query.statuses().isEmpty()) {
+            result.and(union(byStatus, query.statuses()));
+        }
+        if (!query.types().isEmpty()) {
+            result.and(union(byType, query.types()));
+        }
+        if (!query.floors().isEmpty()) {
+            result.and(union(byFloor, query.floors()));
+        }
+        for (String amenity : query.amenities()) {
+            BitSet withAmenity = byAmenity.get(amenity);
+            if (withAmenity == null) {
+                return new BitSet();
+            }
+            result.and(withAmenity);
+        }
+        return result;
+    }
+
+    private static <K> BitSet union(Map<K, BitSet> bitmaps, Set<K> keys) {
+        BitSet union = new BitSet();
+        for (K key : keys) {
+            BitSet bits = bitmaps.get(key);
+            if (bits != null) {
+                union.or(bits);
+            }
+        }
+        return union;
+    }
+
+    private int allocateOrdinal() {
+        if (!freeOrdinals.isEmpty()) {
+            return freeOrdinals.pop();
+        }
+        entries.add(null);
+        return entries.size() - 1;
+    }
+
+    private void clearBits(int ordinal, Entry entry) {
+        byStatus.get(entry.status()).clear(ordinal);
+        byType.get(entry.type()).clear(ordinal);
+        byFloor.get(entry.floor()).clear(ordinal);
+        for (String amenity : entry.amenities()) {
+            byAmenity.get(amenity).clear(ordinal);
+        }
+    }
+
+    /**
+     * Bitmap query: accepted values per dimension (empty = any) and required amenities
+     */
+    public record Query(Set<ResourceStatus> statuses, Set<ResourceType> types,
+                        Set<Integer> floors, Set<String> amenities) {
+
+        public static Query of(ResourceFilter filter) {
+            return new Query(
+                    filter.getStatus() != null ? Set.of(filter.getStatus()) : Set.of(),
+                    filter.getType() != null ? Set.of(filter.getType()) : Set.of(),
+                    filter.getFloor() != null ? Set.of(filter.getFloor()) : Set.of(),
+                    Set.copyOf(filter.getAmenities()));
+        }
+    }
+
+    private record Entry(Long id, ResourceStatus status, ResourceType type, Integer floor,
+                         Set<String> amenities) {}
+}
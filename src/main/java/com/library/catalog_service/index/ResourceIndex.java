@@ -0,0 +1,23 @@
+package com.library.catalog_service.index;
+
+import com.library.catalog_service.dto.ResourceResponse;
+
+/**
+ * An in-memory view of the catalog.
+ * Implementations are filled at startup and kept current after each committed
+ * write by {@link ResourceIndexMaintainer}; they only need to be safe for
+ * concurrent readers and a single writer per resource, and never see an
+ * older version of a resource after a newer one.
+ */
+public interface ResourceIndex {
+
+    /**
+     * Add a resource or replace its previous entry
+     */
+    void put(ResourceResponse resource);
+
+    /**
+     * Drop a resource; unknown ids are ignored
+     */
+    void remove(Long resourceId);
+}
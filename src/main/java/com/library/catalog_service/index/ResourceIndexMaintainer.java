@@ -0,0 +1,92 @@
+package com.library.catalog_service.index;
+
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.event.ResourceChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads every {@link ResourceIndex} from the database before listeners and the
+ * web server start, then applies each {@link ResourceChangedEvent} to all of
+ * them once the write has committed.
+ * <p>
+ * After-commit listeners of concurrent writes to one resource can run in
+ * either order, so the version last applied is kept per resource and a
+ * change that is not newer is skipped. A deleted resource keeps a marker that
+ * outranks any version, since ids are never reused.
+ */
+@Component
+public class ResourceIndexMaintainer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceIndexMaintainer.class);
+
+    private final CatalogSnapshotReader snapshotReader;
+    private final List<ResourceIndex> indexes;
+    private final Map<Long, Long> appliedVersions = new ConcurrentHashMap<>();
+
+    public ResourceIndexMaintainer(CatalogSnapshotReader snapshotReader, List<ResourceIndex> indexes) {
+        this.snapshotReader = snapshotReader;
+        this.indexes = indexes;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+        int loaded = snapshotReader.forEach(this::put);
+        logger.info("Loaded {} resources into {} indexes in {} ms", loaded, indexes.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResourceChanged(ResourceChangedEvent event) {
+        if (event.isDeletion()) {
+            remove(event.getResourceId());
+        } else {
+            put(event.getCurrent());
+        }
+    }
+
+    /**
+     * Apply the resource to every index unless a version at least as new is
+     * already there; runs under the resource's map entry, one writer at a time
+     */
+    private void put(ResourceResponse resource) {
+        appliedVersions.compute(resource.getId(), (id, applied) -> {
+            if (applied != null && resource.getVersion() != null && resource.getVersion() <= applied) {
+                logger.debug("Skipping version {} of resource {}, version {} is indexed",
+                        resource.getVersion(), id, applied);
+                return applied;
+            }
+            for (ResourceIndex index : indexes) {
+                try {
+                    index.put(resource);
+                } catch (Exception e) {
+                    logger.error("Failed to apply change of resource {} to {}: {}", id,
+                            index.getClass().getSimpleName(), e.getMessage(), e);
+                }
+            }
+            return resource.getVersion() != null ? resource.getVersion() : applied;
+        });
+    }
+
+    private void remove(Long resourceId) {
+        appliedVersions.compute(resourceId, (id, applied) -> {
+            for (ResourceIndex index : indexes) {
+                try {
+                    index.remove(id);
+                } catch (Exception e) {
+                    logger.error("Failed to apply change of resource {} to {}: {}", id,
+                            index.getClass().getSimpleName(), e.getMessage(), e);
+                }
+            }
+            return Long.MAX_VALUE;
+        });
+    }
+}
@@ -0,0 +1,231 @@
+package com.library.catalog_service.index;
+
+import com.library.catalog_service.dto.ResourceResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory trigram inverted index over resource names.
+ * <p>
+ * Names are lower-cased, padded ("  name ") and split into trigrams; each word
+ * also contributes a one-letter gram so one- and two-character queries match
+ * word prefixes. A query first collects names containing it as a substring by
+ * intersecting the postings of its trigrams, rarest first, then (when fuzzy
+ * matching is on and there is room left) tops up with names ranked by trigram
+ * similarity. Exact, prefix and word-prefix matches rank above plain
+ * substrings, which rank above fuzzy matches.
+ * <p>
+ * Maintained by {@link ResourceIndexMaintainer}.
+ */
+@Component
+public class ResourceNameIndex implements ResourceIndex {
+
+    private static final double FUZZY_THRESHOLD = 0.3;
+
+    private final Map<Long, IndexedName> names = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    @Override
+    public void put(ResourceResponse resource) {
+        index(resource.getId(), resource.getName());
+    }
+
+    @Override
+    public void remove(Long resourceId) {
+        unindex(resourceId);
+    }
+
+    /**
+     * Ids of the best matching resources, best first
+     */
+    public List<Long> search(String query, int limit, boolean fuzzy) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        PriorityQueue<Match> best = new PriorityQueue<>(Match.RANKING.reversed());
+        Set<Long> matched = new HashSet<>();
+
+        for (Long id : substringCandidates(normalized)) {
+            IndexedName indexed = names.get(id);
+            if (indexed == null) {
+                continue;
+            }
+            double score = substringScore(indexed.name(), normalized);
+            if (score > 0) {
+                offer(best, new Match(id, indexed.name().length(), score), limit);
+                matched.add(id);
+            }
+        }
+
+        if (fuzzy && matched.size() < limit) {
+            for (Match match : fuzzyMatches(normalized, matched)) {
+                offer(best, match, limit);
+            }
+        }
+
+        List<Match> ranked = new ArrayList<>(best);
+        ranked.sort(Match.RANKING);
+        return ranked.stream().map(Match::id).toList();
+    }
+
+    private synchronized void index(Long id, String name) {
+        String normalized = normalize(name);
+        IndexedName existing = names.get(id);
+        if (existing != null && existing.name().equals(normalized)) {
+            return;
+        }
+        if (existing != null) {
+            unindex(id);
+        }
+        Set<String> grams = grams(normalized);
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        names.put(id, new IndexedName(normalized, grams.size()));
+    }
+
+    private synchronized void unindex(Long id) {
+        IndexedName existing = names.remove(id);
+        if (existing == null) {
+            return;
+        }
+        for (String gram : grams(existing.name())) {
+            postings.computeIfPresent(gram, (g, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Ids whose postings contain every gram of the query (still to be verified)
+     */
+    private Collection<Long> substringCandidates(String query) {
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : queryGrams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        List<Long> candidates = new ArrayList<>();
+        candidateLoop:
+        for (Long id : lists.get(0)) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(id)) {
+                    continue candidateLoop;
+                }
+            }
+            candidates.add(id);
+        }
+        return candidates;
+    }
+
+    /**
+     * Names sharing enough trigrams with the query (Jaccard similarity)
+     */
+    private List<Match> fuzzyMatches(String query, Set<Long> exclude) {
+        Set<String> queryGrams = grams(query);
+        Map<Long, Integer> shared = new HashMap<>();
+        for (String gram : queryGrams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.forEach(id -> shared.merge(id, 1, Integer::sum));
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        shared.forEach((id, common) -> {
+            IndexedName indexed = names.get(id);
+            if (indexed == null || exclude.contains(id)) {
+                return;
+            }
+            double similarity = (double) common / (queryGrams.size() + indexed.gramCount() - common);
+            if (similarity >= FUZZY_THRESHOLD) {
+                matches.add(new Match(id, indexed.name().length(), similarity));
+            }
+        });
+        return matches;
+    }
+
+    private static void offer(PriorityQueue<Match> best, Match match, int limit) {
+        best.offer(match);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    /**
+     * 4 for an exact match, 3 for a name prefix, 2 for a word prefix, 1 for any
+     * other substring (three characters or more), 0 for no match
+     */
+    private static double substringScore(String name, String query) {
+        if (name.equals(query)) {
+            return 4;
+        }
+        if (name.startsWith(query)) {
+            return 3;
+        }
+        if (name.contains(" " + query)) {
+            return 2;
+        }
+        return query.length() >= 3 && name.contains(query) ? 1 : 0;
+    }
+
+    private static Set<String> queryGrams(String query) {
+        if (query.length() == 1) {
+            return Set.of("  " + query);
+        }
+        if (query.length() == 2) {
+            return Set.of(" " + query);
+        }
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            grams.add(query.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static Set<String> grams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        String padded = "  " + normalized + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        for (String word : normalized.split(" ")) {
+            if (!word.isEmpty()) {
+                grams.add("  " + word.charAt(0));
+            }
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private record IndexedName(String name, int gramCount) {}
+
+    private record Match(Long id, int nameLength, double score) {
+        // Best first: higher score, then shorter name, then lower id
+        static final Comparator<Match> RANKING = Comparator.comparingDouble(Match::score).reversed()
+                .thenComparingInt(Match::nameLength)
+                .thenComparing(Match::id);
+    }
+}
@@ -0,0 +1,193 @@
+package com.library.catalog_service.index;
+
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.entity.ResourceStatus;
+import com.library.catalog_service.entity.ResourceType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-floor uniform grid over resource coordinates (locationX/locationY).
+ * <p>
+ * A nearest-neighbour query scans rings of cells outwards from the cell
+ * containing the query point and stops once the next ring cannot hold
+ * anything closer than the k-th best candidate found so far, or once it has
+ * covered every occupied cell of the floor. Resources without coordinates
+ * are not indexed.
+ * <p>
+ * Maintained by {@link ResourceIndexMaintainer}.
+ */
+@Component
+public class ResourceSpatialIndex implements ResourceIndex {
+
+    private final double cellSize;
+    private final Map<Integer, FloorGrid> floors = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public ResourceSpatialIndex(@Value("${catalog.spatial.cell-size:5.0}") double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    @Override
+    public synchronized void put(ResourceResponse resource) {
+        remove(resource.getId());
+        if (resource.getFloor() == null || resource.getLocationX() == null || resource.getLocationY() == null) {
+            return;
+        }
+        Entry entry = new Entry(resource.getId(), resource.getFloor(), resource.getLocationX(),
+                resource.getLocationY(), resource.getType(), resource.getStatus(),
+                Set.copyOf(resource.getAmenities()));
+        floors.computeIfAbsent(entry.floor(), floor -> new FloorGrid()).add(entry);
+        entries.put(entry.id(), entry);
+    }
+
+    @Override
+    public synchronized void remove(Long resourceId) {
+        Entry existing = entries.remove(resourceId);
+        if (existing != null) {
+            floors.get(existing.floor()).remove(existing);
+        }
+    }
+
+    /**
+     * The k AVAILABLE resources nearest to (x, y) on the floor, closest first.
+     * Type and amenity are optional filters.
+     */
+    public List<Neighbour> nearestAvailable(int floor, double x, double y, int k,
+                                            ResourceType type, String amenity) {
+        FloorGrid grid = floors.get(floor);
+        if (grid == null || k <= 0) {
+            return List.of();
+        }
+
+        // Max-heap on distance holding the best k so far
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(
+                Comparator.comparingDouble(Neighbour::distance).reversed());
+        int originX = cell(x);
+        int originY = cell(y);
+
+        int firstRing = grid.firstRing(originX, originY);
+        for (int ring = firstRing; ; ring++) {
+            // Every cell of this ring is at least (ring - 1) cells away from the query point
+            if (best.size() == k && (ring - 1) * cellSize > best.peek().distance()) {
+                break;
+            }
+            if (ring > firstRing && !grid.reaches(originX, originY, ring)) {
+                break;
+            }
+            for (Entry entry : grid.ring(originX, originY, ring)) {
+                if (entry.status() != ResourceStatus.AVAILABLE
+                        || (type != null && entry.type() != type)
+                        || (amenity != null && !entry.amenities().contains(amenity))) {
+                    continue;
+                }
+                best.offer(new Neighbour(entry.id(), Math.hypot(entry.x() - x, entry.y() - y)));
+                if (best.size() > k) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<Neighbour> nearest = new ArrayList<>(best);
+        nearest.sort(Comparator.comparingDouble(Neighbour::distance));
+        return nearest;
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long cellKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xffffffffL);
+    }
+
+    /**
+     * A resource found by a nearest-neighbour query and its distance to the query point
+     */
+    public record Neighbour(Long id, double distance) {}
+
+    private record Entry(Long id, int floor, float x, float y, ResourceType type,
+                         ResourceStatus status, Set<String> amenities) {}
+
+    /**
+     * Occupied cells of one floor plus the bounding box of all cells ever
+     * occupied, which limits how far a query has to search
+     */
+    private class FloorGrid {
+
+        private final Map<Long, Set<Entry>> cells = new ConcurrentHashMap<>();
+        private volatile int minX = Integer.MAX_VALUE;
+        private volatile int maxX = Integer.MIN_VALUE;
+        private volatile int minY = Integer.MAX_VALUE;
+        private volatile int maxY = Integer.MIN_VALUE;
+
+        void add(Entry entry) {
+            int cellX = cell(entry.x());
+            int cellY = cell(entry.y());
+            cells.computeIfAbsent(cellKey(cellX, cellY), key -> ConcurrentHashMap.newKeySet()).add(entry);
+            minX = Math.min(minX, cellX);
+            maxX = Math.max(maxX, cellX);
+            minY = Math.min(minY, cellY);
+            maxY = Math.max(maxY, cellY);
+        }
+
+        void remove(Entry entry) {
+            cells.computeIfPresent(cellKey(cell(entry.x()), cell(entry.y())), (key, occupants) -> {
+                occupants.remove(entry);
+                return occupants.isEmpty() ? null : occupants;
+            });
+        }
+
+        /**
+         * Radius of the first ring that can touch the occupied area
+         */
+        int firstRing(int originX, int originY) {
+            return Math.max(0, Math.max(Math.max(minX - originX, originX - maxX),
+                    Math.max(minY - originY, originY - maxY)));
+        }
+
+        /**
+         * Whether the rings scanned before this one left part of the occupied area uncovered
+         */
+        boolean reaches(int originX, int originY, int ring) {
+            int covered = ring - 1;
+            return originX - covered > minX || originX + covered < maxX
+                    || originY - covered > minY || originY + covered < maxY;
+        }
+
+        /**
+         * Entries in the cells at Chebyshev distance exactly ring from the origin cell
+         */
+        List<Entry> ring(int originX, int originY, int ring) {
+            List<Entry> found = new ArrayList<>();
+            if (ring == 0) {
+                collect(originX, originY, found);
+                return found;
+            }
+            for (int dx = -ring; dx <= ring; dx++) {
+                collect(originX + dx, originY - ring, found);
+                collect(originX + dx, originY + ring, found);
+            }
+            for (int dy = -ring + 1; dy <= ring - 1; dy++) {
+                collect(originX - ring, originY + dy, found);
+                collect(originX + ring, originY + dy, found);
+            }
+            return found;
+        }
+
+        private void collect(int cellX, int cellY, List<Entry> found) {
+            Set<Entry> occupants = cells.get(cellKey(cellX, cellY));
+            if (occupants != null) {
+                found.addAll(occupants);
+            }
+        }
+    }
+}
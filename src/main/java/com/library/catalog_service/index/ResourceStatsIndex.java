@@ -0,0 +1,206 @@
+package com.library.catalog_service.index;
+
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.dto.ResourceStatsResponse;
+import com.library.catalog_service.dto.ResourceStatsResponse.AmenityCount;
+import com.library.catalog_service.dto.ResourceStatsResponse.FacetCount;
+import com.library.catalog_service.entity.ResourceStatus;
+import com.library.catalog_service.entity.ResourceType;
+import com.library.catalog_service.repository.ResourceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Facet counters: number of resources per floor, type and status, and per
+ * amenity and status.
+ * <p>
+ * The last seen facets of every resource are kept so each put or remove only
+ * moves the resource between counters, making reads independent of catalog
+ * size. A scheduled recount compares the counters with GROUP BY queries and
+ * rebuilds them from the database if they have drifted (e.g. after a lost
+ * change event).
+ * <p>
+ * Maintained by {@link ResourceIndexMaintainer}.
+ */
+@Component
+public class ResourceStatsIndex implements ResourceIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceStatsIndex.class);
+
+    private final ResourceRepository resourceRepository;
+    private final CatalogSnapshotReader snapshotReader;
+
+    private Counters counters = new Counters();
+    // Changes seen while a rebuild is reading the database, replayed onto the rebuilt counters
+    private List<ResourceResponse> changedDuringRebuild;
+    private List<Long> removedDuringRebuild;
+
+    public ResourceStatsIndex(ResourceRepository resourceRepository, CatalogSnapshotReader snapshotReader) {
+        this.resourceRepository = resourceRepository;
+        this.snapshotReader = snapshotReader;
+    }
+
+    @Override
+    public synchronized void put(ResourceResponse resource) {
+        counters.put(resource);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(resource);
+        }
+    }
+
+    @Override
+    public synchronized void remove(Long resourceId) {
+        counters.remove(resourceId);
+        if (removedDuringRebuild != null) {
+            removedDuringRebuild.add(resourceId);
+        }
+    }
+
+    /**
+     * Current facet counts
+     */
+    public ResourceStatsResponse stats() {
+        Counts counts = snapshot();
+
+        long total = 0;
+        Map<ResourceStatus, Long> byStatus = new EnumMap<>(ResourceStatus.class);
+        Map<ResourceType, Long> byType = new EnumMap<>(ResourceType.class);
+        Map<Integer, Long> byFloor = new TreeMap<>();
+        List<FacetCount> facets = new ArrayList<>();
+        for (Map.Entry<FacetKey, Long> entry : counts.facets().entrySet()) {
+            FacetKey key = entry.getKey();
+            long count = entry.getValue();
+            total += count;
+            byStatus.merge(key.status(), count, Long::sum);
+            byType.merge(key.type(), count, Long::sum);
+            byFloor.merge(key.floor(), count, Long::sum);
+            facets.add(new FacetCount(key.floor(), key.type(), key.status(), count));
+        }
+        facets.sort(Comparator.comparing(FacetCount::getFloor)
+                .thenComparing(FacetCount::getType)
+                .thenComparing(FacetCount::getStatus));
+
+        List<AmenityCount> amenities = new ArrayList<>();
+        counts.amenities().forEach((key, count) ->
+                amenities.add(new AmenityCount(key.amenity(), key.status(), count)));
+        amenities.sort(Comparator.comparing(AmenityCount::getAmenity).thenComparing(AmenityCount::getStatus));
+
+        return new ResourceStatsResponse(total, byStatus, byType, byFloor, facets, amenities);
+    }
+
+    /**
+     * Recount from the database and rebuild the counters if they disagree.
+     * A round in which the counters changed while the database was queried is
+     * skipped, since the two views may legitimately differ then.
+     */
+    @Scheduled(initialDelayString = "${catalog.stats.recount-interval:5m}",
+            fixedDelayString = "${catalog.stats.recount-interval:5m}")
+    public void recount() {
+        Counts before = snapshot();
+        Map<FacetKey, Long> facets = new HashMap<>();
+        resourceRepository.countByFacet().forEach(row ->
+                facets.put(new FacetKey(row.getFloor(), row.getType(), row.getStatus()), row.getTotal()));
+        Map<AmenityKey, Long> amenities = new HashMap<>();
+        resourceRepository.countByAmenity().forEach(row ->
+                amenities.put(new AmenityKey(row.getAmenity(), row.getStatus()), row.getTotal()));
+        Counts after = snapshot();
+
+        if (!before.equals(after)) {
+            logger.debug("Catalog changed during facet recount, skipping verification");
+            return;
+        }
+        if (after.equals(new Counts(facets, amenities))) {
+            return;
+        }
+        logger.warn("Facet counters drifted from the database, rebuilding");
+        rebuild();
+    }
+
+    private void rebuild() {
+        synchronized (this) {
+            changedDuringRebuild = new ArrayList<>();
+            removedDuringRebuild = new ArrayList<>();
+        }
+        Counters rebuilt = new Counters();
+        try {
+            snapshotReader.forEach(rebuilt::put);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changedDuringRebuild = null;
+                removedDuringRebuild = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            // Replaying is safe even for changes the reader already saw: both operations are idempotent
+            changedDuringRebuild.forEach(rebuilt::put);
+            removedDuringRebuild.forEach(rebuilt::remove);
+            counters = rebuilt;
+            changedDuringRebuild = null;
+            removedDuringRebuild = null;
+        }
+    }
+
+    private synchronized Counts snapshot() {
+        return new Counts(new HashMap<>(counters.facets), new HashMap<>(counters.amenities));
+    }
+
+    private record FacetKey(Integer floor, ResourceType type, ResourceStatus status) {}
+
+    private record AmenityKey(String amenity, ResourceStatus status) {}
+
+    private record Facets(FacetKey key, Set<String> amenities) {}
+
+    private record Counts(Map<FacetKey, Long> facets, Map<AmenityKey, Long> amenities) {}
+
+    /**
+     * Counters plus the facets each resource was last counted under (not thread-safe)
+     */
+    private static class Counters {
+
+        private final Map<Long, Facets> byResource = new HashMap<>();
+        private final Map<FacetKey, Long> facets = new HashMap<>();
+        private final Map<AmenityKey, Long> amenities = new HashMap<>();
+
+        void put(ResourceResponse resource) {
+            Facets current = new Facets(
+                    new FacetKey(resource.getFloor(), resource.getType(), resource.getStatus()),
+                    Set.copyOf(resource.getAmenities()));
+            Facets previous = byResource.put(resource.getId(), current);
+            if (previous != null) {
+                adjust(previous, -1);
+            }
+            adjust(current, 1);
+        }
+
+        void remove(Long resourceId) {
+            Facets previous = byResource.remove(resourceId);
+            if (previous != null) {
+                adjust(previous, -1);
+            }
+        }
+
+        private void adjust(Facets resourceFacets, long delta) {
+            FacetKey key = resourceFacets.key();
+            add(facets, key, delta);
+            for (String amenity : resourceFacets.amenities()) {
+                add(amenities, new AmenityKey(amenity, key.status()), delta);
+            }
+        }
+
+        private static <K> void add(Map<K, Long> counts, K key, long delta) {
+            counts.merge(key, delta, (count, change) -> count + change == 0 ? null : count + change);
+        }
+    }
+}
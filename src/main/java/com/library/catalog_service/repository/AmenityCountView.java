@@ -0,0 +1,15 @@
+package com.library.catalog_service.repository;
+
+import com.library.catalog_service.entity.ResourceStatus;
+
+/**
+ * Projection of the number of resources per amenity and status
+ */
+public interface AmenityCountView {
+
+    String getAmenity();
+
+    ResourceStatus getStatus();
+
+    Long getTotal();
+}
@@ -0,0 +1,59 @@
+package com.library.catalog_service.repository;
+
+import com.library.catalog_service.entity.BookedSlot;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for BookedSlot entity
+ */
+@Repository
+public interface BookedSlotRepository extends JpaRepository<BookedSlot, Long> {
+    
+    /**
+     * Slots of bookings that have not ended and are still running after the
+     * given time, in booking id order starting after afterBookingId
+     */
+    List<BookedSlot> findByEndTimeAfterAndEndedAtIsNullAndBookingIdGreaterThanOrderByBookingId(LocalDateTime time,
+            Long afterBookingId, Limit limit);
+    
+    /**
+     * Record a booking unless a row for it exists. Returns 1 when the row was
+     * inserted, 0 when the booking was already known.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into booked_slots (booking_id, resource_id, start_time, end_time, ended_at) "
+            + "values (:bookingId, :resourceId, :startTime, :endTime, :endedAt) "
+            + "on conflict (booking_id) do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("bookingId") Long bookingId, @Param("resourceId") Long resourceId,
+            @Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime,
+            @Param("endedAt") LocalDateTime endedAt);
+    
+    /**
+     * Mark a booking ended unless it already is. Returns 1 when it was still
+     * active, 0 when it had ended or is unknown.
+     */
+    @Transactional
+    @Modifying
+    @Query("update BookedSlot s set s.endedAt = :endedAt where s.bookingId = :bookingId and s.endedAt is null")
+    int markEnded(@Param("bookingId") Long bookingId, @Param("endedAt") LocalDateTime endedAt);
+    
+    /**
+     * Delete every slot whose booking ended at or before the given time.
+     * Slots past their end time whose booking has not ended yet are kept, so
+     * the booking still counts as active and its end event still decrements.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from BookedSlot s where s.endedAt is not null and s.endedAt <= :time")
+    int deleteEndedBy(@Param("time") LocalDateTime time);
+}
@@ -0,0 +1,34 @@
+package com.library.catalog_service.repository;
+
+import com.library.catalog_service.entity.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for CatalogVersion entity
+ */
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, String> {
+    
+    /**
+     * Sum of the versions of every type, which grows with each write to the catalog
+     */
+    @Query("select coalesce(sum(v.version), 0) from CatalogVersion v where v.partitionKey like 't%'")
+    long sumTypeVersions();
+    
+    /**
+     * Version of a partition as stored, bypassing the persistence context
+     */
+    @Query("select v.version from CatalogVersion v where v.partitionKey = :key")
+    Long findVersion(@Param("key") String key);
+    
+    /**
+     * Increment the version of an existing partition; 0 when it has no row yet
+     */
+    @Modifying
+    @Query("update CatalogVersion v set v.version = v.version + 1 where v.partitionKey = :key")
+    int increment(@Param("key") String key);
+}
@@ -0,0 +1,18 @@
+package com.library.catalog_service.repository;
+
+import com.library.catalog_service.entity.ResourceStatus;
+import com.library.catalog_service.entity.ResourceType;
+
+/**
+ * Projection of the number of resources per floor, type and status
+ */
+public interface FacetCountView {
+
+    Integer getFloor();
+
+    ResourceType getType();
+
+    ResourceStatus getStatus();
+
+    Long getTotal();
+}
@@ -0,0 +1,30 @@
+package com.library.catalog_service.repository;
+
+import com.library.catalog_service.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for OutboxEvent entity
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    /**
+     * Oldest pending events created at or before the given time, locked for
+     * the surrounding transaction. Rows
+     * locked by another relay are skipped (lock timeout -2 = SKIP LOCKED), so
+     * several instances can drain the outbox side by side.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<OutboxEvent> findByCreatedAtLessThanEqualOrderByIdAsc(LocalDateTime createdAt, Limit limit);
+}
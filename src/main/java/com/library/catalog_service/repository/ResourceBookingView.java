@@ -0,0 +1,21 @@
+package com.library.catalog_service.repository;
+
+import com.library.catalog_service.entity.ResourceStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the booking state of a resource
+ */
+public interface ResourceBookingView {
+
+    Long getId();
+
+    ResourceStatus getStatus();
+
+    Integer getActiveBookings();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getVersion();
+}
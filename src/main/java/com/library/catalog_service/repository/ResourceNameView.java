@@ -0,0 +1,11 @@
+package com.library.catalog_service.repository;
+
+/**
+ * Projection of a resource id and name
+ */
+public interface ResourceNameView {
+
+    Long getId();
+
+    String getName();
+}
@@ -2,51 +2,141 @@ package com.library.catalog_service.repository;
 
 import com.library.catalog_service.entity.Resource;
 import com.library.catalog_service.entity.ResourceStatus;
-import com.library.catalog_service.entity.ResourceType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
- * Repository for Resource entity
+ * Repository for Resource entity.
+ * Filtered listings go through {@link ResourceSpecifications} so that any
+ * combination of criteria is a single keyset-paginated query.
  */
 @Repository
-public interface ResourceRepository extends JpaRepository<Resource, Long> {
+public interface ResourceRepository extends JpaRepository<Resource, Long>, JpaSpecificationExecutor<Resource> {
     
     /**
-     * Find resources by type
+     * Find a resource together with its amenities in a single query
      */
-    List<Resource> findByType(ResourceType type);
+    @EntityGraph(attributePaths = "amenities")
+    Optional<Resource> findWithAmenitiesById(Long id);
     
     /**
-     * Find resources by floor
+     * Find resources by id together with their amenities in a single query
      */
-    List<Resource> findByFloor(Integer floor);
+    @EntityGraph(attributePaths = "amenities")
+    List<Resource> findAllWithAmenitiesByIdIn(Collection<Long> ids);
     
     /**
-     * Find resources by status
+     * Booking state of resources by id, without loading the entities
      */
-    List<Resource> findByStatus(ResourceStatus status);
+    @Query("select r.id as id, r.status as status, r.activeBookings as activeBookings, "
+            + "r.updatedAt as updatedAt, r.version as version from Resource r where r.id in :ids")
+    List<ResourceBookingView> findBookingStatesByIdIn(@Param("ids") Collection<Long> ids);
     
     /**
-     * Find resources by type and status
+     * Add delta to the active bookings of several resources in one statement,
+     * never going below zero, and derive the status from the new count (see
+     * {@link Resource#bookingStatus()}). Rows whose count would not change
+     * are left alone, version included. Bypasses entity callbacks, so
+     * updatedAt is passed in.
      */
-    List<Resource> findByTypeAndStatus(ResourceType type, ResourceStatus status);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Resource r set "
+            + "r.activeBookings = greatest(r.activeBookings + :delta, 0), "
+            + "r.status = case "
+            + "when r.status = com.library.catalog_service.entity.ResourceStatus.MAINTENANCE then r.status "
+            + "when greatest(r.activeBookings + :delta, 0) >= r.capacity "
+            + "then com.library.catalog_service.entity.ResourceStatus.UNAVAILABLE "
+            + "else com.library.catalog_service.entity.ResourceStatus.AVAILABLE end, "
+            + "r.updatedAt = :updatedAt, "
+            + "r.version = r.version + 1 "
+            + "where r.id in :ids and greatest(r.activeBookings + :delta, 0) <> r.activeBookings")
+    int addActiveBookings(@Param("ids") Collection<Long> ids, @Param("delta") int delta,
+            @Param("updatedAt") LocalDateTime updatedAt);
     
     /**
-     * Find resources by floor and status
+     * Set the status of a resource unless it already has it, bumping its
+     * version. Outside MAINTENANCE the status must be the one its active
+     * bookings imply (see {@link Resource#bookingStatus()}), checked by the
+     * same statement. Returns the number of rows changed (0 or 1).
      */
-    List<Resource> findByFloorAndStatus(Integer floor, ResourceStatus status);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Resource r set r.status = :status, r.updatedAt = :updatedAt, r.version = r.version + 1 "
+            + "where r.id = :id and r.status <> :status "
+            + "and (:status = com.library.catalog_service.entity.ResourceStatus.MAINTENANCE "
+            + "or :status = case when r.activeBookings >= r.capacity "
+            + "then com.library.catalog_service.entity.ResourceStatus.UNAVAILABLE "
+            + "else com.library.catalog_service.entity.ResourceStatus.AVAILABLE end)")
+    int updateStatus(@Param("id") Long id, @Param("status") ResourceStatus status,
+            @Param("updatedAt") LocalDateTime updatedAt);
     
     /**
-     * Find resources by name (case-insensitive search)
+     * Number of resources per floor, type and status
      */
-    List<Resource> findByNameContainingIgnoreCase(String name);
+    @Query("select r.floor as floor, r.type as type, r.status as status, count(r) as total "
+            + "from Resource r group by r.floor, r.type, r.status")
+    List<FacetCountView> countByFacet();
+    
+    /**
+     * Number of resources per amenity and status
+     */
+    @Query("select a as amenity, r.status as status, count(distinct r) as total "
+            + "from Resource r join r.amenities a group by a, r.status")
+    List<AmenityCountView> countByAmenity();
+    
+    /**
+     * Every resource with its amenities in id order, read through a cursor
+     * (JDBC fetch size) instead of materializing the result. Must be consumed
+     * inside a transaction and closed; detach entities once used to keep the
+     * persistence context small.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from Resource r left join fetch r.amenities order by r.id")
+    Stream<Resource> streamAllWithAmenities();
+    
+    /**
+     * Resources changed after the given (changeSeq, id) position and below
+     * the before sequence, in that order. Amenities are batch-fetched on access.
+     */
+    @Query("select r from Resource r "
+            + "where (r.changeSeq > :after or (r.changeSeq = :after and r.id > :afterId)) "
+            + "and r.changeSeq < :before "
+            + "order by r.changeSeq, r.id")
+    List<Resource> findChangedAfter(@Param("after") long after, @Param("afterId") Long afterId,
+            @Param("before") long before, Limit limit);
+    
+    /**
+     * Set the change sequence of resources written by the current transaction
+     */
+    @Modifying
+    @Query(value = "update resources set change_seq = :sequence where id in :ids", nativeQuery = true)
+    int stampChangeSeq(@Param("ids") Collection<Long> ids, @Param("sequence") long sequence);
     
     /**
      * Check if resource exists by name
      */
     boolean existsByName(String name);
+    
+    /**
+     * Ids and names of the resources carrying any of the given names
+     */
+    @Query("select r.id as id, r.name as name from Resource r where r.name in :names")
+    List<ResourceNameView> findNamesIn(@Param("names") Collection<String> names);
 }
-
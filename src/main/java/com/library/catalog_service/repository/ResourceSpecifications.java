@@ -0,0 +1,68 @@
+package com.library.catalog_service.repository;
+
+import com.library.catalog_service.dto.ResourceFilter;
+import com.library.catalog_service.entity.Resource;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Specifications for querying resources.
+ * A filter of any shape becomes a single SELECT whose WHERE clause carries
+ * only the criteria that were set.
+ */
+public final class ResourceSpecifications {
+
+    private ResourceSpecifications() {}
+
+    /**
+     * Resources matching the filter with an id greater than afterId (keyset position)
+     */
+    public static Specification<Resource> matching(ResourceFilter filter, long afterId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.greaterThan(root.get("id"), afterId));
+
+            if (filter.getType() != null) {
+                predicates.add(cb.equal(root.get("type"), filter.getType()));
+            }
+            if (filter.getFloor() != null) {
+                predicates.add(cb.equal(root.get("floor"), filter.getFloor()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getMinCapacity() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("capacity"), filter.getMinCapacity()));
+            }
+            if (filter.getMaxCapacity() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("capacity"), filter.getMaxCapacity()));
+            }
+            if (filter.getName() != null && !filter.getName().isBlank()) {
+                String pattern = "%" + escapeLike(filter.getName().trim().toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(cb.like(cb.lower(root.get("name")), pattern, '\\'));
+            }
+
+            // One correlated EXISTS per required amenity
+            for (String amenity : filter.getAmenities()) {
+                Subquery<String> hasAmenity = query.subquery(String.class);
+                Root<Resource> owner = hasAmenity.correlate(root);
+                Join<Resource, String> amenities = owner.join("amenities");
+                hasAmenity.select(amenities).where(cb.equal(amenities, amenity));
+                predicates.add(cb.exists(hasAmenity));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
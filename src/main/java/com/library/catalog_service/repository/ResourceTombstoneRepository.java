@@ -0,0 +1,39 @@
+package com.library.catalog_service.repository;
+
+import com.library.catalog_service.entity.ResourceTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for ResourceTombstone entity
+ */
+@Repository
+public interface ResourceTombstoneRepository extends JpaRepository<ResourceTombstone, Long> {
+    
+    /**
+     * Tombstones after the given (changeSeq, resourceId) position and below
+     * the before sequence, in that order
+     */
+    @Query("select t from ResourceTombstone t "
+            + "where (t.changeSeq > :after or (t.changeSeq = :after and t.resourceId > :afterId)) "
+            + "and t.changeSeq < :before "
+            + "order by t.changeSeq, t.resourceId")
+    List<ResourceTombstone> findDeletedAfter(@Param("after") long after, @Param("afterId") Long afterId,
+            @Param("before") long before, Limit limit);
+    
+    /**
+     * Delete every tombstone older than the given time
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from ResourceTombstone t where t.deletedAt < :time")
+    int deleteDeletedBefore(@Param("time") LocalDateTime time);
+}
@@ -0,0 +1,220 @@
+package com.library.catalog_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes events from a dedicated thread after the write has committed.
+ * <p>
+ * Events are put on a bounded in-memory queue once the transaction commits
+ * (dropped with the transaction on rollback); request threads never touch
+ * the broker. The publisher thread sends them in batches over one channel.
+ * A circuit breaker stops sending after repeated failures and only lets a
+ * trial batch through every open period, so an unreachable broker costs one
+ * connection timeout per period instead of one per event. Failed batches go
+ * back to the head of the queue; events that do not fit in the queue are
+ * dropped and counted. Unlike the outbox, queued events are lost on a crash.
+ * <p>
+ * Once an event arrives the publisher waits for the coalescing window, then
+ * takes everything queued and skips events superseded by a later one with the
+ * same coalesce key before sending.
+ * <p>
+ * Metrics: catalog.events.queue.depth, catalog.events.dropped,
+ * catalog.events.coalesced,
+ * catalog.events.publish (latency per batch), catalog.events.publish.failures
+ * and catalog.events.circuit.state (0 closed, 1 open, 2 half-open).
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.events.mode", havingValue = "async")
+public class AsyncEventSink implements ResourceEventSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncEventSink.class);
+
+    private final RabbitTemplate rabbitTemplate;
+    private final EventEncoder eventEncoder;
+    private final BlockingDeque<OutgoingEvent> queue;
+    private final int batchSize;
+    private final Duration coalesceWindow;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter dropped;
+    private final Counter coalesced;
+    private final Counter publishFailures;
+    private final Timer publishTimer;
+    private final Thread publisher;
+    private volatile boolean running = true;
+
+    public AsyncEventSink(RabbitTemplate rabbitTemplate,
+            EventEncoder eventEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.events.async.queue-capacity:10000}") int queueCapacity,
+            @Value("${catalog.events.async.batch-size:100}") int batchSize,
+            @Value("${catalog.events.async.circuit.failure-threshold:3}") int failureThreshold,
+            @Value("${catalog.events.async.circuit.open-duration:30s}") Duration openDuration,
+            @Value("${catalog.events.coalesce-window:0s}") Duration coalesceWindow) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.eventEncoder = eventEncoder;
+        this.queue = new LinkedBlockingDeque<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.coalesceWindow = coalesceWindow;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+        this.dropped = Counter.builder("catalog.events.dropped")
+                .description("Events dropped because the publish queue was full")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("catalog.events.coalesced")
+                .description("Events not sent because a later event superseded them")
+                .register(meterRegistry);
+        this.publishFailures = Counter.builder("catalog.events.publish.failures")
+                .description("Batches the broker did not accept")
+                .register(meterRegistry);
+        this.publishTimer = Timer.builder("catalog.events.publish")
+                .description("Time to publish one batch of events")
+                .register(meterRegistry);
+        Gauge.builder("catalog.events.queue.depth", queue, BlockingDeque::size)
+                .description("Events waiting to be published")
+                .register(meterRegistry);
+        Gauge.builder("catalog.events.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Publisher circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        this.publisher = new Thread(this::publishLoop, "resource-event-publisher");
+        this.publisher.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        publisher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        publisher.interrupt();
+        publisher.join(TimeUnit.SECONDS.toMillis(5));
+        if (!queue.isEmpty()) {
+            logger.warn("Shutting down with {} unpublished resource events", queue.size());
+        }
+    }
+
+    @Override
+    public void send(List<OutgoingEvent> events) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(events);
+                }
+            });
+        } else {
+            enqueue(events);
+        }
+    }
+
+    private void enqueue(List<OutgoingEvent> events) {
+        for (OutgoingEvent event : events) {
+            if (!queue.offerLast(event)) {
+                dropped.increment();
+                logger.warn("Event queue full, dropped {} event", event.routingKey());
+            }
+        }
+    }
+
+    private void publishLoop() {
+        while (running) {
+            try {
+                if (!circuitBreaker.allowRequest()) {
+                    Thread.sleep(Math.max(1, Math.min(circuitBreaker.remainingOpen().toMillis(), 1000)));
+                    continue;
+                }
+                OutgoingEvent first = queue.pollFirst(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                if (coalesceWindow.isZero()) {
+                    List<OutgoingEvent> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    if (!publish(batch)) {
+                        requeue(batch);
+                    }
+                } else {
+                    Thread.sleep(coalesceWindow.toMillis());
+                    publishCoalesced(first);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Coalesce everything queued behind the first event and publish it in
+     * batches, putting the unsent rest back if a batch fails
+     */
+    private void publishCoalesced(OutgoingEvent first) {
+        List<OutgoingEvent> pending = new ArrayList<>();
+        pending.add(first);
+        queue.drainTo(pending);
+        List<OutgoingEvent> latest = EventCoalescing.latestPerKey(pending, OutgoingEvent::coalesceKey);
+        coalesced.increment(pending.size() - latest.size());
+        for (int from = 0; from < latest.size(); from += batchSize) {
+            if (!publish(latest.subList(from, Math.min(from + batchSize, latest.size())))) {
+                requeue(latest.subList(from, latest.size()));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Publish one batch, reporting whether the broker accepted it
+     */
+    private boolean publish(List<OutgoingEvent> batch) {
+        long start = System.nanoTime();
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (OutgoingEvent event : batch) {
+                    operations.send(event.exchange(), event.routingKey(), eventEncoder.encode(event));
+                }
+                return null;
+            });
+            publishTimer.record(Duration.ofNanos(System.nanoTime() - start));
+            circuitBreaker.onSuccess();
+            return true;
+        } catch (Exception e) {
+            publishFailures.increment();
+            circuitBreaker.onFailure();
+            logger.warn("Failed to publish {} events (circuit {}): {}", batch.size(), circuitBreaker.getState(),
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Put a failed batch back at the head of the queue in its original order
+     */
+    private void requeue(List<OutgoingEvent> batch) {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            if (!queue.offerFirst(batch.get(i))) {
+                dropped.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.config.RabbitMQConfig;
+import com.library.catalog_service.dto.BookingEventDTO;
+import com.library.catalog_service.event.BookingEventType;
+import com.library.catalog_service.service.BookingEventProcessor.BookingEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch listener for booking events from RabbitMQ, used instead of
+ * {@link BookingEventListener} when catalog.booking-events.batch.enabled is set.
+ * <p>
+ * Receives up to catalog.booking-events.batch.size messages from all three
+ * booking queues at once and hands them to {@link BookingEventProcessor},
+ * which sums them into one active-booking delta per resource and applies
+ * those with set-based updates and one batch of resource.updated events.
+ */
+@Service
+@ConditionalOnProperty(name = "catalog.booking-events.batch.enabled", havingValue = "true")
+public class BookingEventBatchListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingEventBatchListener.class);
+
+    private final BookingEventProcessor bookingEventProcessor;
+
+    public BookingEventBatchListener(BookingEventProcessor bookingEventProcessor) {
+        this.bookingEventProcessor = bookingEventProcessor;
+    }
+
+    /**
+     * Handle a batch of booking created/canceled/completed events.
+     * Events without a booking id are dropped, as they could not be deduplicated.
+     * When some stripes of the batch fail, only their events are retried, each on its own.
+     */
+    @RabbitListener(containerFactory = RabbitMQConfig.BOOKING_BATCH_CONTAINER_FACTORY, queues = {
+            RabbitMQConfig.CATALOG_BOOKING_CREATED_QUEUE,
+            RabbitMQConfig.CATALOG_BOOKING_CANCELED_QUEUE,
+            RabbitMQConfig.CATALOG_BOOKING_COMPLETED_QUEUE })
+    public void handleBookingEvents(List<Message<BookingEventDTO>> messages) {
+        List<BookingEvent> events = new ArrayList<>(messages.size());
+        for (Message<BookingEventDTO> message : messages) {
+            BookingEventDTO booking = message.getPayload();
+            String queue = message.getHeaders().get(AmqpHeaders.CONSUMER_QUEUE, String.class);
+            BookingEventType type = BookingEventType.fromQueue(queue);
+            if (booking.getId() == null || booking.getResourceId() == null || type == null) {
+                logger.warn("Ignoring booking event {} from queue {}", booking, queue);
+                continue;
+            }
+            events.add(new BookingEvent(type, booking));
+        }
+        logger.info("Received {} booking events", messages.size());
+
+        try {
+            bookingEventProcessor.processBatch(events);
+        } catch (BookingEventProcessor.UnappliedEventsException e) {
+            logger.error("Error applying booking event batch, retrying {} of {} events one by one: {}",
+                    e.getUnapplied().size(), events.size(), e.getMessage(), e);
+            e.getUnapplied().forEach(this::processSingle);
+        }
+    }
+
+    private void processSingle(BookingEvent event) {
+        try {
+            bookingEventProcessor.process(event.type(), event.booking());
+        } catch (Exception e) {
+            logger.error("Error processing booking.{} event {}: {}", event.type().name().toLowerCase(),
+                    event.booking(), e.getMessage(), e);
+        }
+    }
+}
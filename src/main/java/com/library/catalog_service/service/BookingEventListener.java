@@ -2,38 +2,43 @@ package com.library.catalog_service.service;
 
 import com.library.catalog_service.config.RabbitMQConfig;
 import com.library.catalog_service.dto.BookingEventDTO;
-import com.library.catalog_service.entity.ResourceStatus;
+import com.library.catalog_service.event.BookingEventType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 /**
  * Listener for booking events from RabbitMQ.
- * Updates resource availability when bookings are created or canceled.
+ * Updates the active bookings (and with them the availability) of a
+ * resource when bookings are created, canceled or completed.
+ * Replaced by {@link BookingEventBatchListener} when batch mode is enabled.
  */
 @Service
+@ConditionalOnProperty(name = "catalog.booking-events.batch.enabled", havingValue = "false", matchIfMissing = true)
 public class BookingEventListener {
 
     private static final Logger logger = LoggerFactory.getLogger(BookingEventListener.class);
 
-    private final ResourceService resourceService;
+    private final BookingEventProcessor bookingEventProcessor;
 
-    public BookingEventListener(ResourceService resourceService) {
-        this.resourceService = resourceService;
+    public BookingEventListener(BookingEventProcessor bookingEventProcessor) {
+        this.bookingEventProcessor = bookingEventProcessor;
     }
 
     /**
      * Handle booking created event.
-     * When a booking is created, mark the resource as UNAVAILABLE.
+     * When a booking is created, count it against the resource; the resource
+     * becomes UNAVAILABLE once its capacity is taken.
      */
     @RabbitListener(queues = RabbitMQConfig.CATALOG_BOOKING_CREATED_QUEUE)
     public void handleBookingCreated(BookingEventDTO booking) {
         try {
             logger.info("Received booking.created event: {}", booking);
             if (booking.getResourceId() != null) {
-                resourceService.updateResourceStatus(booking.getResourceId(), ResourceStatus.UNAVAILABLE);
-                logger.info("Updated resource {} status to UNAVAILABLE", booking.getResourceId());
+                bookingEventProcessor.process(BookingEventType.CREATED, booking);
+                logger.info("Applied booking.created event to resource {}", booking.getResourceId());
             }
         } catch (Exception e) {
             logger.error("Error processing booking.created event: {}", e.getMessage(), e);
@@ -42,19 +47,16 @@ public class BookingEventListener {
 
     /**
      * Handle booking canceled event.
-     * When a booking is canceled, mark the resource as AVAILABLE.
-     * Note: In a production system, you'd check if there are other active bookings
-     * before marking as available.
+     * When a booking is canceled, release it; the resource becomes AVAILABLE
+     * again only if no other bookings still fill its capacity.
      */
     @RabbitListener(queues = RabbitMQConfig.CATALOG_BOOKING_CANCELED_QUEUE)
     public void handleBookingCanceled(BookingEventDTO booking) {
         try {
             logger.info("Received booking.canceled event: {}", booking);
             if (booking.getResourceId() != null) {
-                // In production, check if there are other active bookings for this resource
-                // For now, we mark it as available
-                resourceService.updateResourceStatus(booking.getResourceId(), ResourceStatus.AVAILABLE);
-                logger.info("Updated resource {} status to AVAILABLE", booking.getResourceId());
+                bookingEventProcessor.process(BookingEventType.CANCELED, booking);
+                logger.info("Applied booking.canceled event to resource {}", booking.getResourceId());
             }
         } catch (Exception e) {
             logger.error("Error processing booking.canceled event: {}", e.getMessage(), e);
@@ -63,19 +65,15 @@ public class BookingEventListener {
 
     /**
      * Handle booking completed event.
-     * When a booking is completed (endTime has passed), free the resource.
-     * Note: The booking service checks for other active bookings before publishing this event,
-     * so we can safely mark the resource as AVAILABLE.
+     * When a booking is completed (endTime has passed), release it like a cancellation.
      */
     @RabbitListener(queues = RabbitMQConfig.CATALOG_BOOKING_COMPLETED_QUEUE)
     public void handleBookingCompleted(BookingEventDTO booking) {
         try {
             logger.info("Received booking.completed event: {}", booking);
             if (booking.getResourceId() != null) {
-                // Mark resource as available since booking has ended
-                // The booking service ensures no other active bookings exist before publishing this event
-                resourceService.updateResourceStatus(booking.getResourceId(), ResourceStatus.AVAILABLE);
-                logger.info("Updated resource {} status to AVAILABLE (booking completed)", booking.getResourceId());
+                bookingEventProcessor.process(BookingEventType.COMPLETED, booking);
+                logger.info("Applied booking.completed event to resource {}", booking.getResourceId());
             }
         } catch (Exception e) {
             logger.error("Error processing booking.completed event: {}", e.getMessage(), e);
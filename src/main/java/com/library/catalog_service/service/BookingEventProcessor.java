@@ -0,0 +1,247 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.dto.BookingEventDTO;
+import com.library.catalog_service.entity.BookedSlot;
+import com.library.catalog_service.event.BookingEventType;
+import com.library.catalog_service.index.ResourceAvailabilityIndex;
+import com.library.catalog_service.repository.BookedSlotRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Turns booking events into active-booking deltas, exactly once and in order per resource.
+ * <p>
+ * Every booking has a row in booked_slots, written in the same transaction as
+ * the counter change: a created event counts only if it inserted the row, an
+ * end event only if it marked the row ended. Redeliveries, also after a
+ * restart or a failure before the ack, find the row and change nothing; a
+ * created event after the booking already ended is ignored too. Since the
+ * three booking queues are consumed independently, an end event may overtake
+ * the created event of a booking made within the reorder window; it writes the
+ * row already ended, without a decrement, and the late created event is
+ * skipped. An end event for an older unknown booking, counted before its row
+ * existed, still decrements. Events without a booking id cannot be told apart
+ * from their redeliveries, so they are rejected rather than counted.
+ * <p>
+ * The slots of active bookings with a start and end time are also kept in
+ * {@link ResourceAvailabilityIndex}, updated after commit.
+ * <p>
+ * Work for a resource always runs on the same single-threaded stripe, so
+ * events for one resource are applied one after the other while different
+ * resources proceed in parallel. Callers block until their events are
+ * applied, so messages are only acknowledged afterwards. Each stripe commits
+ * on its own; when some fail, {@link UnappliedEventsException} lists the
+ * events of those stripes only.
+ */
+@Component
+public class BookingEventProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingEventProcessor.class);
+
+    private final ResourceService resourceService;
+    private final BookedSlotRepository bookedSlotRepository;
+    private final ResourceAvailabilityIndex availabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService[] stripes;
+    private final Duration reorderWindow;
+
+    public BookingEventProcessor(ResourceService resourceService,
+            BookedSlotRepository bookedSlotRepository,
+            ResourceAvailabilityIndex availabilityIndex,
+            PlatformTransactionManager transactionManager,
+            @Value("${catalog.booking-events.stripes:8}") int stripeCount,
+            @Value("${catalog.booking-events.reorder-window:5m}") Duration reorderWindow) {
+        this.resourceService = resourceService;
+        this.bookedSlotRepository = bookedSlotRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = new ExecutorService[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            String name = "booking-events-" + i;
+            this.stripes[i] = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, name));
+        }
+        this.reorderWindow = reorderWindow;
+    }
+
+    /**
+     * Apply a single booking event and wait until it has been applied or skipped
+     */
+    public void process(BookingEventType type, BookingEventDTO booking) {
+        processBatch(List.of(new BookingEvent(type, booking)));
+    }
+
+    /**
+     * Apply a batch of booking events, one combined delta per resource, and
+     * wait until all of them have been applied or skipped
+     *
+     * @throws UnappliedEventsException listing the events of the stripes
+     *                                  that failed, none of which were applied
+     */
+    public void processBatch(List<BookingEvent> events) {
+        Map<ExecutorService, List<BookingEvent>> byStripe = new LinkedHashMap<>();
+        for (BookingEvent event : events) {
+            if (event.booking().getResourceId() == null) {
+                continue;
+            }
+            if (event.booking().getId() == null) {
+                logger.warn("Rejecting booking.{} event without a booking id for resource {}",
+                        event.type().name().toLowerCase(), event.booking().getResourceId());
+                continue;
+            }
+            byStripe.computeIfAbsent(stripe(event.booking().getResourceId()), key -> new ArrayList<>())
+                    .add(event);
+        }
+        Map<Future<?>, List<BookingEvent>> applied = new LinkedHashMap<>();
+        byStripe.forEach((stripe, stripeEvents) ->
+                applied.put(stripe.submit(() -> applyInOrder(stripeEvents)), stripeEvents));
+        await(applied);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+
+    /**
+     * Runs on the stripe owning every resource in the list. The rows and the
+     * counters change in one transaction, so a failed batch can be redelivered
+     * and applies as if it was seen for the first time.
+     */
+    private void applyInOrder(List<BookingEvent> events) {
+        Map<Long, BookedSlot> booked = new LinkedHashMap<>();
+        Set<Long> released = new LinkedHashSet<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Map<Long, Integer> deltas = new LinkedHashMap<>();
+            for (BookingEvent event : events) {
+                deltas.merge(event.booking().getResourceId(), record(event, now, booked, released), Integer::sum);
+            }
+            resourceService.applyBookingDeltas(deltas);
+        });
+        availabilityIndex.release(released);
+        availabilityIndex.book(booked.values());
+    }
+
+    /**
+     * Record the event on the row of its booking and return the change in
+     * active bookings it causes
+     */
+    private int record(BookingEvent event, LocalDateTime now, Map<Long, BookedSlot> booked, Set<Long> released) {
+        BookingEventDTO booking = event.booking();
+        BookedSlot slot = slot(booking, now);
+        if (!event.type().endsBooking()) {
+            if (bookedSlotRepository.insertIfAbsent(slot.getBookingId(), slot.getResourceId(), slot.getStartTime(),
+                    slot.getEndTime(), null) == 0) {
+                logger.debug("Dropping duplicate or late booking.created event for booking {}", booking.getId());
+                return 0;
+            }
+            if (slot.getEndTime().isAfter(slot.getStartTime())) {
+                booked.put(slot.getBookingId(), slot);
+            }
+            return event.type().getBookingDelta();
+        }
+
+        if (bookedSlotRepository.markEnded(booking.getId(), now) == 1) {
+            booked.remove(booking.getId());
+            released.add(booking.getId());
+            return event.type().getBookingDelta();
+        }
+        // Not active: either already ended, or unknown and recorded as ended so its created event is skipped
+        if (bookedSlotRepository.insertIfAbsent(slot.getBookingId(), slot.getResourceId(), slot.getStartTime(),
+                slot.getEndTime(), now) == 0) {
+            logger.debug("Dropping duplicate booking.{} event for booking {}",
+                    event.type().name().toLowerCase(), booking.getId());
+            return 0;
+        }
+        if (booking.getCreatedAt() != null && booking.getCreatedAt().isAfter(now.minus(reorderWindow))) {
+            logger.warn("booking.{} event for booking {} on resource {} arrived before booking.created",
+                    event.type().name().toLowerCase(), booking.getId(), booking.getResourceId());
+            return 0;
+        }
+        return event.type().getBookingDelta();
+    }
+
+    /**
+     * Slot of the booking, empty at the given time when the booking has no valid times
+     */
+    private static BookedSlot slot(BookingEventDTO booking, LocalDateTime now) {
+        if (booking.getStartTime() != null && booking.getEndTime() != null
+                && booking.getEndTime().isAfter(booking.getStartTime())) {
+            return new BookedSlot(booking.getId(), booking.getResourceId(), booking.getStartTime(),
+                    booking.getEndTime());
+        }
+        return new BookedSlot(booking.getId(), booking.getResourceId(), now, now);
+    }
+
+    private ExecutorService stripe(Long resourceId) {
+        return stripes[Math.floorMod(resourceId.hashCode(), stripes.length)];
+    }
+
+    /**
+     * Wait for every stripe, then report the events of those that failed,
+     * with the first failure as the cause
+     */
+    private static void await(Map<Future<?>, List<BookingEvent>> stripes) {
+        Throwable failure = null;
+        List<BookingEvent> unapplied = new ArrayList<>();
+        for (Map.Entry<Future<?>, List<BookingEvent>> stripe : stripes.entrySet()) {
+            try {
+                stripe.getKey().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while applying booking events", e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+                unapplied.addAll(stripe.getValue());
+            }
+        }
+        if (failure != null) {
+            throw new UnappliedEventsException(unapplied, failure);
+        }
+    }
+
+    /**
+     * A booking event together with the kind of event it is
+     */
+    public record BookingEvent(BookingEventType type, BookingEventDTO booking) {}
+
+    /**
+     * Thrown when the transactions of some stripes failed; the other stripes
+     * committed, so only these events still need applying
+     */
+    public static class UnappliedEventsException extends RuntimeException {
+
+        private final List<BookingEvent> unapplied;
+
+        public UnappliedEventsException(List<BookingEvent> unapplied, Throwable cause) {
+            super(unapplied.size() + " booking events were not applied: " + cause.getMessage(), cause);
+            this.unapplied = List.copyOf(unapplied);
+        }
+
+        public List<BookingEvent> getUnapplied() {
+            return unapplied;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.entity.CatalogVersion;
+import com.library.catalog_service.entity.ResourceTombstone;
+import com.library.catalog_service.entity.ResourceType;
+import com.library.catalog_service.event.ResourceChangedEvent;
+import com.library.catalog_service.repository.CatalogVersionRepository;
+import com.library.catalog_service.repository.ResourceRepository;
+import com.library.catalog_service.repository.ResourceTombstoneRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Versions of each floor and type, used as list ETags, and the change
+ * sequence that orders the changes feed.
+ * <p>
+ * Right before a transaction that wrote resources commits, it bumps the
+ * catalog_versions row of every floor and type it touched (both sides of a
+ * move), in key order so writers never deadlock on them. The versions live in
+ * the database, so they follow writes made by any instance, booking events
+ * included, and writers to different floors and types never wait for each
+ * other. Every write bumps at least one type, so the version of the whole
+ * catalog is the sum of the type versions.
+ * <p>
+ * The same transaction stamps the resources it wrote (and the tombstones of
+ * those it deleted) with its change sequence, its PostgreSQL transaction id.
+ * Those ids are not taken in commit order, so readers only take changes below
+ * the {@link #watermark()}, the oldest transaction still running: nothing can
+ * commit below it any more. On other databases (H2 in tests) the partition
+ * rows are updated without the PostgreSQL upsert, and the sequence comes from
+ * a counter row held until commit, which orders it but serializes writers.
+ */
+@Service
+public class CatalogVersionService {
+
+    static final String CATALOG = "all";
+
+    // Counter row of the change sequence on databases other than PostgreSQL
+    private static final String SEQUENCE = "seq";
+
+    private static final String UPSERT = "insert into catalog_versions (partition_key, version) values (:key, 1) "
+            + "on conflict (partition_key) do update set version = catalog_versions.version + 1";
+    private static final String TRANSACTION_ID = "select pg_current_xact_id()::text::bigint";
+    private static final String OLDEST_RUNNING = "select pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final ResourceRepository resourceRepository;
+    private final ResourceTombstoneRepository tombstoneRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate writeTransaction;
+    private final boolean postgres;
+
+    public CatalogVersionService(CatalogVersionRepository catalogVersionRepository,
+                                 ResourceRepository resourceRepository,
+                                 ResourceTombstoneRepository tombstoneRepository,
+                                 EntityManager entityManager,
+                                 EntityManagerFactory entityManagerFactory,
+                                 PlatformTransactionManager transactionManager) {
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.resourceRepository = resourceRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.entityManager = entityManager;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.postgres = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * Partition a list filter falls in: the floor when given, otherwise the
+     * type, otherwise the whole catalog
+     */
+    public static String partition(Integer floor, ResourceType type) {
+        return floor != null ? "f" + floor : type != null ? "t" + type.name() : CATALOG;
+    }
+
+    /**
+     * Strong ETag of a partition at a version
+     */
+    public static String eTag(String partition, long version) {
+        return "\"" + partition + "-" + version + "\"";
+    }
+
+    /**
+     * Current version of a partition; 0 until its first write
+     */
+    public long version(String partition) {
+        if (CATALOG.equals(partition)) {
+            return catalogVersionRepository.sumTypeVersions();
+        }
+        return catalogVersionRepository.findById(partition).map(CatalogVersion::getVersion).orElse(0L);
+    }
+
+    /**
+     * Change sequences below this one are final: no transaction that could
+     * still commit one is running. Call it inside the reading transaction.
+     */
+    public long watermark() {
+        if (!postgres) {
+            return Long.MAX_VALUE;
+        }
+        return ((Number) entityManager.createNativeQuery(OLDEST_RUNNING).getSingleResult()).longValue();
+    }
+
+    /**
+     * Runs inside the writing transaction; the bump itself waits for its commit
+     */
+    @EventListener
+    public void onResourceChanged(ResourceChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingBumps bumps = new PendingBumps();
+            bumps.add(event);
+            writeTransaction.executeWithoutResult(status -> bumps.apply());
+            return;
+        }
+        PendingBumps bumps = (PendingBumps) TransactionSynchronizationManager.getResource(this);
+        if (bumps == null) {
+            bumps = new PendingBumps();
+            TransactionSynchronizationManager.bindResource(this, bumps);
+            TransactionSynchronizationManager.registerSynchronization(bumps);
+        }
+        bumps.add(event);
+    }
+
+    private void bump(String partition) {
+        if (postgres) {
+            entityManager.createNativeQuery(UPSERT).setParameter("key", partition).executeUpdate();
+        } else if (catalogVersionRepository.increment(partition) == 0) {
+            entityManager.persist(new CatalogVersion(partition, 1L));
+        }
+    }
+
+    /**
+     * Change sequence of the current transaction
+     */
+    private long changeSequence() {
+        if (postgres) {
+            return ((Number) entityManager.createNativeQuery(TRANSACTION_ID).getSingleResult()).longValue();
+        }
+        // Locked after the partitions, like them until commit
+        bump(SEQUENCE);
+        return catalogVersionRepository.findVersion(SEQUENCE);
+    }
+
+    /**
+     * Partitions and resources written by one transaction
+     */
+    private final class PendingBumps implements TransactionSynchronization {
+
+        private final Set<String> partitions = new TreeSet<>();
+        private final Set<Long> written = new LinkedHashSet<>();
+        private final Set<Long> deleted = new LinkedHashSet<>();
+
+        void add(ResourceChangedEvent event) {
+            add(event.getPrevious());
+            add(event.getCurrent());
+            if (event.isDeletion()) {
+                written.remove(event.getResourceId());
+                deleted.add(event.getResourceId());
+            } else {
+                written.add(event.getResourceId());
+            }
+        }
+
+        private void add(ResourceResponse resource) {
+            if (resource != null) {
+                if (resource.getFloor() != null) {
+                    partitions.add(partition(resource.getFloor(), null));
+                }
+                if (resource.getType() != null) {
+                    partitions.add(partition(null, resource.getType()));
+                }
+            }
+        }
+
+        void apply() {
+            // The rows to stamp must be written first
+            entityManager.flush();
+            partitions.forEach(CatalogVersionService.this::bump);
+            long sequence = changeSequence();
+            if (!written.isEmpty()) {
+                resourceRepository.stampChangeSeq(written, sequence);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            deleted.forEach(id -> tombstoneRepository.save(new ResourceTombstone(id, now, sequence)));
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            apply();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CatalogVersionService.this);
+        }
+    }
+}
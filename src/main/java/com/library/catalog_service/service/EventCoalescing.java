@@ -0,0 +1,35 @@
+package com.library.catalog_service.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Drops events superseded by a later event with the same coalesce key
+ */
+final class EventCoalescing {
+
+    private EventCoalescing() {
+    }
+
+    /**
+     * The events in their original order, keeping only the last one per
+     * non-null key; events with a null key are all kept
+     */
+    static <T> List<T> latestPerKey(List<T> events, Function<T, String> coalesceKey) {
+        Set<String> seen = new HashSet<>();
+        List<T> kept = new ArrayList<>(events.size());
+        for (int i = events.size() - 1; i >= 0; i--) {
+            T event = events.get(i);
+            String key = coalesceKey.apply(event);
+            if (key == null || seen.add(key)) {
+                kept.add(event);
+            }
+        }
+        Collections.reverse(kept);
+        return kept;
+    }
+}
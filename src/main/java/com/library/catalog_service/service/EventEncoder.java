@@ -0,0 +1,38 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.config.RabbitMQConfig;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Serializes outgoing events in the content type configured for their
+ * exchange (JSON unless configured otherwise), using the content-type
+ * delegating converter consumers also decode with
+ */
+@Component
+public class EventEncoder {
+
+    private final MessageConverter messageConverter;
+    private final Map<String, String> contentTypes;
+
+    public EventEncoder(MessageConverter messageConverter,
+            @Value("${catalog.messaging.resource-events.content-type:application/json}") String resourceEventsContentType) {
+        this.messageConverter = messageConverter;
+        this.contentTypes = Map.of(RabbitMQConfig.RESOURCE_EXCHANGE, resourceEventsContentType);
+    }
+
+    public Message encode(OutgoingEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(contentTypeFor(event.exchange()));
+        return messageConverter.toMessage(event.payload(), properties);
+    }
+
+    public String contentTypeFor(String exchange) {
+        return contentTypes.getOrDefault(exchange, MessageProperties.CONTENT_TYPE_JSON);
+    }
+}
@@ -0,0 +1,31 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.exception.InvalidBulkRequestException;
+
+import java.util.Locale;
+
+/**
+ * Input formats accepted by the catalog import
+ */
+public enum ImportFormat {
+    /** Header row (name,type,capacity,floor[,locationX,locationY,amenities]) then one resource per row */
+    CSV,
+    /** One CreateResourceRequest JSON object per line */
+    NDJSON;
+
+    /**
+     * The explicit format if given, otherwise the one implied by the content
+     * type or file name, CSV when neither says
+     */
+    public static ImportFormat resolve(String format, String contentTypeOrFileName) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidBulkRequestException("Unknown import format: " + format);
+            }
+        }
+        String hint = contentTypeOrFileName != null ? contentTypeOrFileName.toLowerCase(Locale.ROOT) : "";
+        return hint.contains("ndjson") || hint.contains("json") ? NDJSON : CSV;
+    }
+}
@@ -0,0 +1,49 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.entity.OutboxEvent;
+import com.library.catalog_service.repository.OutboxEventRepository;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Writes events to the outbox in the caller's transaction, so they are only
+ * sent if the change commits and are never lost once it has;
+ * {@link OutboxRelay} delivers them.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.events.mode", havingValue = "outbox", matchIfMissing = true)
+public class OutboxEventSink implements ResourceEventSink {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventEncoder eventEncoder;
+
+    public OutboxEventSink(OutboxEventRepository outboxEventRepository, EventEncoder eventEncoder) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventEncoder = eventEncoder;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void send(List<OutgoingEvent> events) {
+        outboxEventRepository.saveAll(events.stream().map(this::toOutboxEvent).toList());
+    }
+
+    /**
+     * Serialize now, in the content type configured for the exchange, so the
+     * relay sends the bytes as they are
+     */
+    private OutboxEvent toOutboxEvent(OutgoingEvent event) {
+        Message message = eventEncoder.encode(event);
+        MessageProperties properties = message.getMessageProperties();
+        String payloadType = properties.getHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+        return new OutboxEvent(event.exchange(), event.routingKey(), properties.getContentType(), payloadType,
+                message.getBody(), event.coalesceKey());
+    }
+}
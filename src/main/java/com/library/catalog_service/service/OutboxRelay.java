@@ -0,0 +1,145 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.entity.OutboxEvent;
+import com.library.catalog_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relays outbox events to RabbitMQ in batches.
+ * <p>
+ * Each batch is locked (skipping rows held by another instance), sent over one
+ * channel, confirmed by the broker and deleted in a single transaction; if the
+ * broker does not confirm in time the transaction rolls back and the batch is
+ * sent again on the next run, so delivery is at least once.
+ * <p>
+ * Events are held for the coalescing window before they are relayed; within a
+ * batch an event is skipped (and deleted) when a later one carries the same
+ * coalesce key, so a hot resource emits its latest state once per window
+ * rather than every intermediate update. Publishes catalog.outbox.published
+ * (events), catalog.events.coalesced (events skipped), catalog.outbox.batch
+ * (relay time per batch) and catalog.outbox.lag (age of the oldest pending
+ * event).
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.events.mode", havingValue = "outbox", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final Duration coalesceWindow;
+    private final Counter published;
+    private final Counter coalesced;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+            RabbitTemplate rabbitTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.outbox.batch-size:200}") int batchSize,
+            @Value("${catalog.outbox.confirm-timeout:5s}") Duration confirmTimeout,
+            @Value("${catalog.events.coalesce-window:0s}") Duration coalesceWindow) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.coalesceWindow = coalesceWindow;
+        this.published = Counter.builder("catalog.outbox.published")
+                .description("Outbox events confirmed by the broker")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("catalog.events.coalesced")
+                .description("Events not sent because a later event superseded them")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("catalog.outbox.batch")
+                .description("Time to send, confirm and delete one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("catalog.outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest pending outbox event at the last relay run")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drain the outbox, batch by batch, until it is empty or the broker fails
+     */
+    @Scheduled(fixedDelayString = "${catalog.outbox.poll-interval:500ms}")
+    public void relay() {
+        Integer sent;
+        do {
+            try {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } catch (Exception e) {
+                logger.warn("Failed to relay outbox events, will retry: {}", e.getMessage());
+                return;
+            }
+        } while (sent != null && sent == batchSize);
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findByCreatedAtLessThanEqualOrderByIdAsc(
+                LocalDateTime.now().minus(coalesceWindow), Limit.of(batchSize));
+        if (events.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Duration.between(events.get(0).getCreatedAt(), LocalDateTime.now()).toMillis());
+
+        long start = System.nanoTime();
+        List<OutboxEvent> latest = EventCoalescing.latestPerKey(events, OutboxEvent::getCoalesceKey);
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : latest) {
+                operations.send(event.getExchange(), event.getRoutingKey(), toMessage(event));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+            return null;
+        });
+        outboxEventRepository.deleteAllInBatch(events);
+        batchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        published.increment(latest.size());
+        coalesced.increment(events.size() - latest.size());
+        logger.debug("Relayed {} outbox events ({} coalesced)", latest.size(), events.size() - latest.size());
+        return events.size();
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        String contentType = event.getContentType() != null ? event.getContentType() : MessageProperties.CONTENT_TYPE_JSON;
+        properties.setContentType(contentType);
+        if (OutboxEvent.isText(contentType)) {
+            properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        }
+        properties.setMessageId("outbox-" + event.getId());
+        if (event.getPayloadType() != null) {
+            properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, event.getPayloadType());
+        }
+        return new Message(event.getBody(), properties);
+    }
+}
@@ -0,0 +1,9 @@
+package com.library.catalog_service.service;
+
+/**
+ * A message to publish to RabbitMQ: target exchange, routing key and payload
+ * (converted to JSON by the configured message converter). Events sharing a
+ * non-null coalesce key supersede each other: when several are pending in the
+ * same window only the latest is sent. Events without a key are always sent.
+ */
+public record OutgoingEvent(String exchange, String routingKey, Object payload, String coalesceKey) {}
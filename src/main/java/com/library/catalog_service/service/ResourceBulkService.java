@@ -0,0 +1,282 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.cache.ResourceCache;
+import com.library.catalog_service.dto.BulkOperationResponse;
+import com.library.catalog_service.dto.BulkOperationResponse.ItemResult;
+import com.library.catalog_service.dto.BulkOperationResponse.ItemStatus;
+import com.library.catalog_service.dto.BulkUpdateResourceRequest;
+import com.library.catalog_service.dto.CreateResourceRequest;
+import com.library.catalog_service.dto.ResourceBulkEvent;
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.entity.Resource;
+import com.library.catalog_service.event.ResourceChangedEvent;
+import com.library.catalog_service.exception.ConcurrentUpdateException;
+import com.library.catalog_service.exception.InvalidBulkRequestException;
+import com.library.catalog_service.repository.ResourceNameView;
+import com.library.catalog_service.repository.ResourceRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create, update and delete.
+ * <p>
+ * A batch is validated item by item, name uniqueness is checked with one
+ * query for the whole batch and the writes are flushed together, so the
+ * inserts, updates and deletes go out as JDBC batches (pooled sequence ids,
+ * hibernate.jdbc.batch_size). Invalid items are reported and skipped; the
+ * rest are written in one transaction. One aggregated resource.bulk event is
+ * published per batch instead of an event per resource.
+ */
+@Service
+public class ResourceBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceBulkService.class);
+
+    private final ResourceRepository resourceRepository;
+    private final ResourceCache resourceCache;
+    private final ResourceEventPublisher eventPublisher;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final Validator validator;
+    private final int maxItems;
+
+    public ResourceBulkService(ResourceRepository resourceRepository,
+                               ResourceCache resourceCache,
+                               ResourceEventPublisher eventPublisher,
+                               ApplicationEventPublisher applicationEventPublisher,
+                               Validator validator,
+                               @Value("${catalog.bulk.max-items:1000}") int maxItems) {
+        this.resourceRepository = resourceRepository;
+        this.resourceCache = resourceCache;
+        this.eventPublisher = eventPublisher;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.validator = validator;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Create the valid resources of the batch; items that fail validation or
+     * whose name is taken (in the catalog or earlier in the batch) are skipped
+     */
+    @Transactional
+    public BulkOperationResponse createResources(List<CreateResourceRequest> requests) {
+        checkSize(requests);
+        ItemResult[] results = new ItemResult[requests.size()];
+
+        Set<String> taken = existingNames(requests.stream()
+                .filter(Objects::nonNull)
+                .map(CreateResourceRequest::getName)
+                .toList()).keySet();
+        Set<String> seen = new HashSet<>();
+        Map<Integer, Resource> created = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateResourceRequest request = requests.get(i);
+            String invalid = violations(request);
+            if (invalid != null) {
+                results[i] = new ItemResult(i, null, ItemStatus.INVALID, invalid);
+            } else if (taken.contains(request.getName()) || !seen.add(request.getName())) {
+                results[i] = new ItemResult(i, null, ItemStatus.DUPLICATE,
+                        "Resource with name already exists: " + request.getName());
+            } else {
+                created.put(i, ResourceService.newResource(request));
+            }
+        }
+
+        resourceRepository.saveAll(created.values());
+        resourceRepository.flush();
+
+        List<ResourceResponse> responses = new ArrayList<>(created.size());
+        created.forEach((index, resource) -> {
+            ResourceResponse response = ResourceResponse.fromResource(resource);
+            applicationEventPublisher.publishEvent(ResourceChangedEvent.created(response));
+            responses.add(response);
+            results[index] = new ItemResult(index, resource.getId(), ItemStatus.CREATED, null);
+        });
+        logger.info("Bulk created {} of {} resources", responses.size(), requests.size());
+
+        eventPublisher.publishResourcesBulk(ResourceBulkEvent.created(responses));
+        return BulkOperationResponse.of(List.of(results));
+    }
+
+    /**
+     * Update the listed resources; unknown ids, invalid items and renames to
+     * a name already in use are skipped. A concurrent write to any of the
+     * resources fails the whole batch with a conflict.
+     */
+    @Transactional
+    public BulkOperationResponse updateResources(List<BulkUpdateResourceRequest> requests) {
+        checkSize(requests);
+        ItemResult[] results = new ItemResult[requests.size()];
+
+        Map<Long, Resource> found = resourceRepository.findAllWithAmenitiesByIdIn(requests.stream()
+                        .filter(request -> request != null && request.getId() != null)
+                        .map(BulkUpdateResourceRequest::getId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+        Map<String, Long> owners = existingNames(requests.stream()
+                .filter(request -> request != null && request.getName() != null && !request.getName().isBlank())
+                .map(BulkUpdateResourceRequest::getName)
+                .toList());
+
+        Set<Long> seenIds = new HashSet<>();
+        Set<String> seenNames = new HashSet<>();
+        Map<Integer, ResourceResponse> previous = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BulkUpdateResourceRequest request = requests.get(i);
+            String invalid = violations(request);
+            if (invalid != null) {
+                results[i] = new ItemResult(i, request != null ? request.getId() : null, ItemStatus.INVALID, invalid);
+                continue;
+            }
+            Long id = request.getId();
+            Resource resource = found.get(id);
+            if (!seenIds.add(id)) {
+                results[i] = new ItemResult(i, id, ItemStatus.INVALID, "Resource listed more than once: " + id);
+            } else if (resource == null) {
+                results[i] = new ItemResult(i, id, ItemStatus.NOT_FOUND, "Resource not found with id: " + id);
+            } else if (ResourceService.statusConflict(resource, request) != null) {
+                results[i] = new ItemResult(i, id, ItemStatus.INVALID,
+                        ResourceService.statusConflict(resource, request));
+            } else if (renamesToTakenName(request, resource, owners, seenNames)) {
+                results[i] = new ItemResult(i, id, ItemStatus.DUPLICATE,
+                        "Resource with name already exists: " + request.getName());
+            } else {
+                previous.put(i, ResourceResponse.fromResource(resource));
+                ResourceService.applyChanges(resource, request);
+            }
+        }
+
+        try {
+            resourceRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConcurrentUpdateException("Resources in the batch are being modified concurrently, try again");
+        }
+
+        List<ResourceResponse> responses = new ArrayList<>(previous.size());
+        previous.forEach((index, before) -> {
+            ResourceResponse response = ResourceResponse.fromResource(found.get(before.getId()));
+            resourceCache.evict(response.getId());
+            applicationEventPublisher.publishEvent(ResourceChangedEvent.updated(before, response));
+            responses.add(response);
+            results[index] = new ItemResult(index, response.getId(), ItemStatus.UPDATED, null);
+        });
+        logger.info("Bulk updated {} of {} resources", responses.size(), requests.size());
+
+        eventPublisher.publishResourcesBulk(ResourceBulkEvent.updated(responses));
+        return BulkOperationResponse.of(List.of(results));
+    }
+
+    /**
+     * Delete the listed resources; unknown ids are reported as not found
+     */
+    @Transactional
+    public BulkOperationResponse deleteResources(List<Long> ids) {
+        checkSize(ids);
+        ItemResult[] results = new ItemResult[ids.size()];
+
+        Map<Long, Resource> found = resourceRepository.findAllWithAmenitiesByIdIn(ids.stream()
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+
+        Set<Long> seen = new HashSet<>();
+        Map<Integer, Resource> deleted = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null || !seen.add(id)) {
+                results[i] = new ItemResult(i, id, ItemStatus.INVALID,
+                        id == null ? "Id is required" : "Resource listed more than once: " + id);
+            } else if (!found.containsKey(id)) {
+                results[i] = new ItemResult(i, id, ItemStatus.NOT_FOUND, "Resource not found with id: " + id);
+            } else {
+                deleted.put(i, found.get(id));
+            }
+        }
+
+        List<ResourceResponse> previous = deleted.values().stream().map(ResourceResponse::fromResource).toList();
+        resourceRepository.deleteAll(deleted.values());
+        resourceRepository.flush();
+
+        for (ResourceResponse resource : previous) {
+            resourceCache.evict(resource.getId());
+            applicationEventPublisher.publishEvent(ResourceChangedEvent.deleted(resource));
+        }
+        deleted.forEach((index, resource) ->
+                results[index] = new ItemResult(index, resource.getId(), ItemStatus.DELETED, null));
+        logger.info("Bulk deleted {} of {} resources", deleted.size(), ids.size());
+
+        eventPublisher.publishResourcesBulk(ResourceBulkEvent.deleted(
+                previous.stream().map(ResourceResponse::getId).toList()));
+        return BulkOperationResponse.of(List.of(results));
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidBulkRequestException("Bulk request must contain at least one item");
+        }
+        if (items.size() > maxItems) {
+            throw new InvalidBulkRequestException("Bulk request must not contain more than " + maxItems + " items");
+        }
+    }
+
+    /**
+     * Bean validation messages for the item, or null when it is valid
+     */
+    private String violations(Object request) {
+        if (request == null) {
+            return "Item is required";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Owner id per name, for the given names already in the catalog
+     */
+    private Map<String, Long> existingNames(List<String> names) {
+        Set<String> distinct = names.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinct.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Long> owners = new HashMap<>();
+        for (ResourceNameView view : resourceRepository.findNamesIn(distinct)) {
+            owners.put(view.getName(), view.getId());
+        }
+        return owners;
+    }
+
+    private static boolean renamesToTakenName(BulkUpdateResourceRequest request, Resource resource,
+                                              Map<String, Long> owners, Set<String> seenNames) {
+        String name = request.getName();
+        if (name == null || name.isBlank() || name.equals(resource.getName())) {
+            return false;
+        }
+        Long owner = owners.get(name);
+        return (owner != null && !owner.equals(resource.getId())) || !seenNames.add(name);
+    }
+}
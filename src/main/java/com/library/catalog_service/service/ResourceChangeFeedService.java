@@ -0,0 +1,136 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.dto.ChangeFeedEntry;
+import com.library.catalog_service.dto.ChangeFeedPage;
+import com.library.catalog_service.dto.ChangeFeedPage.Position;
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.entity.Resource;
+import com.library.catalog_service.entity.ResourceTombstone;
+import com.library.catalog_service.exception.SyncTokenExpiredException;
+import com.library.catalog_service.repository.ResourceRepository;
+import com.library.catalog_service.repository.ResourceTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Changes feed for delta sync: every resource created, updated or deleted
+ * after a position, oldest first.
+ * <p>
+ * Each write is stamped with the change sequence of its transaction (see
+ * {@link CatalogVersionService}), and deletions leave tombstones stamped the
+ * same way. Resources are read by (changeSeq, id) through an index on those
+ * columns, so a page costs the same whatever the size of the catalog. Only
+ * sequences below the watermark are read, so a change can never become
+ * visible behind a position a client has already passed. Both sources and
+ * the watermark are read from one snapshot. Tombstones are purged after the
+ * retention; a token older than that is refused and the client has to sync
+ * from the start.
+ */
+@Service
+public class ResourceChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceChangeFeedService.class);
+
+    private static final Comparator<ChangeFeedEntry> FEED_ORDER =
+            Comparator.comparingLong(ChangeFeedEntry::getSequence).thenComparing(ChangeFeedEntry::getId);
+
+    private final ResourceRepository resourceRepository;
+    private final ResourceTombstoneRepository tombstoneRepository;
+    private final CatalogVersionService catalogVersionService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final Duration retention;
+
+    public ResourceChangeFeedService(ResourceRepository resourceRepository,
+                                     ResourceTombstoneRepository tombstoneRepository,
+                                     CatalogVersionService catalogVersionService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${catalog.changes.default-page-size:200}") int defaultPageSize,
+                                     @Value("${catalog.changes.max-page-size:1000}") int maxPageSize,
+                                     @Value("${catalog.changes.retention:30d}") Duration retention) {
+        this.resourceRepository = resourceRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.catalogVersionService = catalogVersionService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Watermark, resources and tombstones must come from the same snapshot to merge without gaps
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.retention = retention;
+    }
+
+    /**
+     * Changes after the position held by the token, or from the start of the
+     * catalog without one
+     */
+    public ChangeFeedPage changesSince(String token, Integer limit) {
+        Position since = ChangeFeedPage.decodeToken(token);
+        LocalDateTime now = LocalDateTime.now();
+        if (since != null && since.complete().isBefore(now.minus(retention))) {
+            throw new SyncTokenExpiredException("Sync token has expired, sync again from the start");
+        }
+
+        int pageSize = limit == null || limit <= 0 ? defaultPageSize : Math.min(limit, maxPageSize);
+        long after = since != null ? since.sequence() : 0L;
+        long afterId = since != null ? since.id() : 0L;
+
+        List<ChangeFeedEntry> entries = readOnlyTransaction.execute(status ->
+                readEntries(after, afterId, catalogVersionService.watermark(), pageSize + 1));
+        boolean hasMore = entries.size() > pageSize;
+        List<ChangeFeedEntry> items = hasMore ? entries.subList(0, pageSize) : entries;
+
+        // Until the client has caught up, what it holds is only as recent as where this sync started
+        LocalDateTime complete = hasMore && since != null ? since.complete() : now;
+        Position next;
+        if (items.isEmpty()) {
+            next = new Position(after, afterId, complete);
+        } else {
+            ChangeFeedEntry last = items.get(items.size() - 1);
+            next = new Position(last.getSequence(), last.getId(), complete);
+        }
+        return new ChangeFeedPage(new ArrayList<>(items), ChangeFeedPage.encodeToken(next), hasMore);
+    }
+
+    /**
+     * Drop tombstones older than the retention
+     */
+    @Scheduled(fixedDelayString = "${catalog.changes.purge-interval:1h}")
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteDeletedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            logger.info("Purged {} resource tombstones", purged);
+        }
+    }
+
+    /**
+     * The first count changes below the before sequence of both sources merged in feed order
+     */
+    private List<ChangeFeedEntry> readEntries(long after, long afterId, long before, int count) {
+        List<ChangeFeedEntry> entries = new ArrayList<>();
+        for (Resource resource : resourceRepository.findChangedAfter(after, afterId, before, Limit.of(count))) {
+            entries.add(ChangeFeedEntry.changed(ResourceResponse.fromResource(resource), resource.getChangeSeq()));
+        }
+        for (ResourceTombstone tombstone : tombstoneRepository.findDeletedAfter(after, afterId, before,
+                Limit.of(count))) {
+            entries.add(ChangeFeedEntry.deleted(tombstone.getResourceId(), tombstone.getDeletedAt(),
+                    tombstone.getChangeSeq()));
+        }
+        entries.sort(FEED_ORDER);
+        return entries.size() > count ? entries.subList(0, count) : entries;
+    }
+}
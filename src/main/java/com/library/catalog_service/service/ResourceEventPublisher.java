@@ -1,76 +1,155 @@
 package com.library.catalog_service.service;
 
 import com.library.catalog_service.config.RabbitMQConfig;
+import com.library.catalog_service.dto.ResourceBulkEvent;
+import com.library.catalog_service.dto.ResourceChangeEvent;
 import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.event.ResourceChangedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * Service for publishing resource events to RabbitMQ
+ * Service for publishing resource events to RabbitMQ.
+ * How they reach the broker is up to the configured {@link ResourceEventSink};
+ * either way nothing is sent for a write that rolls back and the request
+ * thread never waits for the broker.
+ * <p>
+ * Updates go out as full resource.updated events, as compact
+ * resource.changed events ({@link ResourceChangeEvent}) or both, depending on
+ * catalog.events.updated-format. A change event carries a snapshot instead of
+ * a delta every snapshot-every versions and when the previous state is not
+ * known.
  */
 @Service
 public class ResourceEventPublisher {
     
     private static final Logger logger = LoggerFactory.getLogger(ResourceEventPublisher.class);
     
-    private final RabbitTemplate rabbitTemplate;
+    private final ResourceEventSink eventSink;
+    private final boolean publishFull;
+    private final boolean publishDelta;
+    private final long snapshotEvery;
     
-    public ResourceEventPublisher(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public ResourceEventPublisher(ResourceEventSink eventSink,
+            @Value("${catalog.events.updated-format:both}") UpdatedFormat updatedFormat,
+            @Value("${catalog.events.snapshot-every:20}") long snapshotEvery) {
+        this.eventSink = eventSink;
+        this.publishFull = updatedFormat != UpdatedFormat.DELTA;
+        this.publishDelta = updatedFormat != UpdatedFormat.FULL;
+        this.snapshotEvery = Math.max(1, snapshotEvery);
     }
     
     /**
      * Publish resource created event
      */
     public void publishResourceCreated(ResourceResponse resource) {
-        try {
-            rabbitTemplate.convertAndSend(
-                RabbitMQConfig.RESOURCE_EXCHANGE,
-                RabbitMQConfig.RESOURCE_CREATED_ROUTING_KEY,
-                resource
-            );
-            logger.info("Published resource.created event for resource: {}", resource.getId());
-        } catch (Exception e) {
-            logger.error("Failed to publish resource.created event: {}", e.getMessage());
+        List<OutgoingEvent> events = new ArrayList<>(2);
+        events.add(resourceEvent(RabbitMQConfig.RESOURCE_CREATED_ROUTING_KEY, resource, null));
+        if (publishDelta) {
+            events.add(changeEvent(ResourceChangeEvent.snapshot(resource)));
         }
+        eventSink.send(events);
+        logger.info("Queued resource.created event for resource: {}", resource.getId());
     }
     
     /**
      * Publish resource updated event
+     *
+     * @param previous state before the write, or null when it was not loaded
+     */
+    public void publishResourceUpdated(ResourceResponse previous, ResourceResponse resource) {
+        eventSink.send(updatedEvents(previous, resource));
+        logger.info("Queued resource.updated event for resource: {}", resource.getId());
+    }
+    
+    /**
+     * Publish resource updated events for several resources
      */
-    public void publishResourceUpdated(ResourceResponse resource) {
-        try {
-            rabbitTemplate.convertAndSend(
-                RabbitMQConfig.RESOURCE_EXCHANGE,
-                RabbitMQConfig.RESOURCE_UPDATED_ROUTING_KEY,
-                resource
-            );
-            logger.info("Published resource.updated event for resource: {}", resource.getId());
-        } catch (Exception e) {
-            logger.error("Failed to publish resource.updated event: {}", e.getMessage());
+    public void publishResourcesUpdated(List<ResourceChangedEvent> changes) {
+        if (changes.isEmpty()) {
+            return;
         }
+        List<OutgoingEvent> events = new ArrayList<>(changes.size() * 2);
+        for (ResourceChangedEvent change : changes) {
+            events.addAll(updatedEvents(change.getPrevious(), change.getCurrent()));
+        }
+        eventSink.send(events);
+        logger.info("Queued {} resource.updated events", changes.size());
+    }
+    
+    /**
+     * Publish the full state of a resource on resource.changed, so consumers
+     * of change events can resynchronize
+     */
+    public void publishResourceSnapshot(ResourceResponse resource) {
+        eventSink.send(List.of(changeEvent(ResourceChangeEvent.snapshot(resource))));
+        logger.info("Queued resource.changed snapshot for resource: {}", resource.getId());
+    }
+    
+    /**
+     * Publish one aggregated event for a bulk operation instead of one event per resource
+     */
+    public void publishResourcesBulk(ResourceBulkEvent event) {
+        if (event.getIds().isEmpty()) {
+            return;
+        }
+        eventSink.send(List.of(resourceEvent(RabbitMQConfig.RESOURCE_BULK_ROUTING_KEY, event, null)));
+        logger.info("Queued resource.bulk {} event for {} resources", event.getOperation(), event.getIds().size());
     }
     
     /**
      * Publish resource deleted event
      */
     public void publishResourceDeleted(Long resourceId) {
-        try {
-            rabbitTemplate.convertAndSend(
-                RabbitMQConfig.RESOURCE_EXCHANGE,
-                RabbitMQConfig.RESOURCE_DELETED_ROUTING_KEY,
-                resourceId
-            );
-            logger.info("Published resource.deleted event for resource: {}", resourceId);
-        } catch (Exception e) {
-            logger.error("Failed to publish resource.deleted event: {}", e.getMessage());
+        eventSink.send(List.of(resourceEvent(RabbitMQConfig.RESOURCE_DELETED_ROUTING_KEY, resourceId, null)));
+        logger.info("Queued resource.deleted event for resource: {}", resourceId);
+    }
+    
+    private List<OutgoingEvent> updatedEvents(ResourceResponse previous, ResourceResponse resource) {
+        List<OutgoingEvent> events = new ArrayList<>(2);
+        if (publishFull) {
+            events.add(updatedEvent(resource));
         }
+        if (publishDelta) {
+            boolean snapshot = previous == null || resource.getVersion() == null
+                    || resource.getVersion() % snapshotEvery == 0;
+            events.add(changeEvent(snapshot
+                    ? ResourceChangeEvent.snapshot(resource)
+                    : ResourceChangeEvent.delta(previous, resource)));
+        }
+        return events;
+    }
+    
+    /**
+     * Updates of the same resource coalesce; created and deleted events are always sent
+     */
+    private static OutgoingEvent updatedEvent(ResourceResponse resource) {
+        return resourceEvent(RabbitMQConfig.RESOURCE_UPDATED_ROUTING_KEY, resource,
+                RabbitMQConfig.RESOURCE_UPDATED_ROUTING_KEY + ":" + resource.getId());
+    }
+    
+    /**
+     * Change events never coalesce: dropping a delta would lose its fields
+     */
+    private static OutgoingEvent changeEvent(ResourceChangeEvent change) {
+        return resourceEvent(RabbitMQConfig.RESOURCE_CHANGED_ROUTING_KEY, change, null);
+    }
+    
+    private static OutgoingEvent resourceEvent(String routingKey, Object payload, String coalesceKey) {
+        return new OutgoingEvent(RabbitMQConfig.RESOURCE_EXCHANGE, routingKey, payload, coalesceKey);
+    }
+    
+    /**
+     * Which events an update publishes
+     */
+    public enum UpdatedFormat {
+        FULL,
+        DELTA,
+        BOTH
     }
 }
-
-
-
-
-
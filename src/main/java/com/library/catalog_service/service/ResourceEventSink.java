@@ -0,0 +1,17 @@
+package com.library.catalog_service.service;
+
+import java.util.List;
+
+/**
+ * Delivery strategy behind {@link ResourceEventPublisher}, selected with
+ * catalog.events.mode: "outbox" ({@link OutboxEventSink}, the default) or
+ * "async" ({@link AsyncEventSink}).
+ */
+public interface ResourceEventSink {
+
+    /**
+     * Hand over events raised by the current write. Implementations must not
+     * let them escape if the surrounding transaction rolls back.
+     */
+    void send(List<OutgoingEvent> events);
+}
@@ -0,0 +1,76 @@
+package com.library.catalog_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.entity.Resource;
+import com.library.catalog_service.repository.ResourceRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole catalog as NDJSON (one ResourceResponse per line).
+ * Rows are read through a database cursor and written as they arrive, each
+ * entity detached once written, so memory use and time to first byte do not
+ * depend on the size of the catalog.
+ */
+@Service
+public class ResourceExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceExportService.class);
+
+    private final ResourceRepository resourceRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ResourceExportService(ResourceRepository resourceRepository,
+                                 EntityManager entityManager,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.resourceRepository = resourceRepository;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.writerFor(ResourceResponse.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Write every resource to the stream, flushing after the first line, and
+     * return how many were written. Does not close the stream.
+     */
+    public long exportNdjson(OutputStream out) {
+        long start = System.nanoTime();
+        Long written = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<Resource> resources = resourceRepository.streamAllWithAmenities()) {
+                Iterator<Resource> iterator = resources.iterator();
+                while (iterator.hasNext()) {
+                    Resource resource = iterator.next();
+                    out.write(writer.writeValueAsBytes(ResourceResponse.fromResource(resource)));
+                    out.write('\n');
+                    entityManager.detach(resource);
+                    if (++count == 1) {
+                        out.flush();
+                    }
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+        logger.info("Exported {} resources in {} ms", written, (System.nanoTime() - start) / 1_000_000);
+        return written != null ? written : 0;
+    }
+}
@@ -0,0 +1,66 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.dto.ImportReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line import: when catalog.import.file is set, import that file on
+ * startup, log progress and the report and exit (status 0, or 1 if the import failed).
+ * Run with --spring.main.web-application-type=none to skip the web server.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.import.file")
+public class ResourceImportRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceImportRunner.class);
+
+    private final ResourceImportService resourceImportService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final String format;
+    private final boolean upsert;
+    private final boolean dryRun;
+
+    public ResourceImportRunner(ResourceImportService resourceImportService,
+            ConfigurableApplicationContext context,
+            @Value("${catalog.import.file}") Path file,
+            @Value("${catalog.import.format:}") String format,
+            @Value("${catalog.import.upsert:false}") boolean upsert,
+            @Value("${catalog.import.dry-run:false}") boolean dryRun) {
+        this.resourceImportService = resourceImportService;
+        this.context = context;
+        this.file = file;
+        this.format = format;
+        this.upsert = upsert;
+        this.dryRun = dryRun;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try (InputStream input = Files.newInputStream(file)) {
+            ImportReport report = resourceImportService.importResources(input,
+                    ImportFormat.resolve(format, file.getFileName().toString()), upsert, dryRun,
+                    progress -> { }); // progress is logged by the import service after every chunk
+            logger.info("Import of {} finished: {}", file, report);
+            report.getErrors().forEach(error -> logger.warn("  {}", error));
+        } catch (Exception e) {
+            logger.error("Import of {} failed", file, e);
+            exitCode = 1;
+        }
+        int status = exitCode;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+}
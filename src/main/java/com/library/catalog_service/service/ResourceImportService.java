@@ -0,0 +1,352 @@
+package com.library.catalog_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.catalog_service.cache.ResourceCache;
+import com.library.catalog_service.dto.CreateResourceRequest;
+import com.library.catalog_service.dto.ImportReport;
+import com.library.catalog_service.dto.ResourceBulkEvent;
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.dto.UpdateResourceRequest;
+import com.library.catalog_service.entity.Resource;
+import com.library.catalog_service.entity.ResourceType;
+import com.library.catalog_service.event.ResourceChangedEvent;
+import com.library.catalog_service.exception.InvalidBulkRequestException;
+import com.library.catalog_service.repository.ResourceNameView;
+import com.library.catalog_service.repository.ResourceRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming catalog import from CSV or NDJSON.
+ * <p>
+ * The input is parsed one row at a time and every row is validated against
+ * the CreateResourceRequest constraints. Valid rows are written in chunks of
+ * chunk-size, each in its own transaction with one name lookup and batched
+ * inserts/updates, so memory stays constant however large the input is and a
+ * failure only loses the chunk in progress. A name already in the catalog is
+ * a duplicate, or with upsert an update of that resource (rows that would not
+ * change anything are skipped). A dry run does the same reads and validation
+ * without writing; it remembers the names it would have written, so a name
+ * repeated in a later chunk is counted as it would be in a real run.
+ * Progress is reported after every chunk.
+ */
+@Service
+public class ResourceImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceImportService.class);
+
+    private final ResourceRepository resourceRepository;
+    private final ResourceCache resourceCache;
+    private final ResourceEventPublisher eventPublisher;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public ResourceImportService(ResourceRepository resourceRepository,
+                                 ResourceCache resourceCache,
+                                 ResourceEventPublisher eventPublisher,
+                                 ApplicationEventPublisher applicationEventPublisher,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${catalog.import.chunk-size:500}") int chunkSize,
+                                 @Value("${catalog.import.max-errors:100}") int maxErrors) {
+        this.resourceRepository = resourceRepository;
+        this.resourceCache = resourceCache;
+        this.eventPublisher = eventPublisher;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Import resources from the stream, calling progress after every chunk
+     */
+    public ImportReport importResources(InputStream input, ImportFormat format, boolean upsert, boolean dryRun,
+                                        Consumer<ImportReport> progress) throws IOException {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport(dryRun, upsert);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RowSource rows = format == ImportFormat.CSV ? csvRows(reader) : ndjsonRows(reader);
+
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        Set<String> chunkNames = new HashSet<>();
+        // Dry runs only: what each name would hold after the rows written so far
+        Map<String, Resource> simulated = new HashMap<>();
+        for (Row row = rows.next(); row != null; row = rows.next()) {
+            report.setProcessed(report.getProcessed() + 1);
+            String invalid = row.error() != null ? row.error()
+                    : row.request() == null ? "Empty record" : violations(row.request());
+            if (invalid != null) {
+                report.reject(row.line(), invalid, false, maxErrors);
+                continue;
+            }
+            // A name seen earlier in the chunk must be written first, so the repeat sees it as existing
+            if (!chunkNames.add(row.request().getName()) || chunk.size() == chunkSize) {
+                writeChunk(chunk, report, simulated, progress);
+                chunkNames.clear();
+                chunkNames.add(row.request().getName());
+            }
+            chunk.add(row);
+        }
+        writeChunk(chunk, report, simulated, progress);
+
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        logger.info("Import finished in {} ms: {}", report.getElapsedMillis(), report);
+        return report;
+    }
+
+    private void writeChunk(List<Row> chunk, ImportReport report, Map<String, Resource> simulated,
+                            Consumer<ImportReport> progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        if (report.isDryRun()) {
+            readOnlyTransaction.executeWithoutResult(status -> applyChunk(chunk, report, simulated));
+        } else {
+            writeTransaction.executeWithoutResult(status -> applyChunk(chunk, report, simulated));
+        }
+        chunk.clear();
+        logger.info("Import progress: {}", report);
+        progress.accept(report);
+    }
+
+    private void applyChunk(List<Row> chunk, ImportReport report, Map<String, Resource> simulated) {
+        Map<String, Long> owners = new HashMap<>();
+        for (ResourceNameView view : resourceRepository.findNamesIn(
+                chunk.stream().map(row -> row.request().getName()).collect(Collectors.toSet()))) {
+            owners.put(view.getName(), view.getId());
+        }
+        Map<Long, Resource> existing = report.isUpsert() && !owners.isEmpty()
+                ? resourceRepository.findAllWithAmenitiesByIdIn(owners.values()).stream()
+                        .collect(Collectors.toMap(Resource::getId, Function.identity()))
+                : Map.of();
+
+        List<Resource> inserts = new ArrayList<>();
+        List<PendingUpdate> updates = new ArrayList<>();
+        for (Row row : chunk) {
+            CreateResourceRequest request = row.request();
+            Long owner = owners.get(request.getName());
+            Resource earlier = simulated.get(request.getName());
+            if (earlier != null) {
+                // Dry run: an earlier chunk would have written this name
+                if (!report.isUpsert()) {
+                    report.reject(row.line(), "Resource with name already exists: " + request.getName(), true,
+                            maxErrors);
+                } else if (matches(earlier, request)) {
+                    report.setUnchanged(report.getUnchanged() + 1);
+                } else {
+                    report.setUpdated(report.getUpdated() + 1);
+                    simulated.put(request.getName(), ResourceService.newResource(request));
+                }
+            } else if (owner == null) {
+                inserts.add(ResourceService.newResource(request));
+            } else if (!report.isUpsert()) {
+                report.reject(row.line(), "Resource with name already exists: " + request.getName(), true, maxErrors);
+            } else {
+                Resource resource = existing.get(owner);
+                if (matches(resource, request)) {
+                    report.setUnchanged(report.getUnchanged() + 1);
+                } else if (report.isDryRun()) {
+                    report.setUpdated(report.getUpdated() + 1);
+                    simulated.put(request.getName(), ResourceService.newResource(request));
+                } else {
+                    ResourceResponse previous = ResourceResponse.fromResource(resource);
+                    resource.setType(request.getType());
+                    ResourceService.applyChanges(resource, toUpdate(request));
+                    updates.add(new PendingUpdate(previous, resource));
+                }
+            }
+        }
+        if (report.isDryRun()) {
+            report.setCreated(report.getCreated() + inserts.size());
+            inserts.forEach(resource -> simulated.put(resource.getName(), resource));
+            return;
+        }
+
+        resourceRepository.saveAll(inserts);
+        resourceRepository.flush();
+
+        List<ResourceResponse> created = new ArrayList<>(inserts.size());
+        for (Resource resource : inserts) {
+            ResourceResponse response = ResourceResponse.fromResource(resource);
+            applicationEventPublisher.publishEvent(ResourceChangedEvent.created(response));
+            created.add(response);
+        }
+        List<ResourceResponse> updated = new ArrayList<>(updates.size());
+        for (PendingUpdate update : updates) {
+            ResourceResponse response = ResourceResponse.fromResource(update.resource());
+            resourceCache.evict(response.getId());
+            applicationEventPublisher.publishEvent(ResourceChangedEvent.updated(update.previous(), response));
+            updated.add(response);
+        }
+        report.setCreated(report.getCreated() + created.size());
+        report.setUpdated(report.getUpdated() + updated.size());
+
+        eventPublisher.publishResourcesBulk(ResourceBulkEvent.created(created));
+        eventPublisher.publishResourcesBulk(ResourceBulkEvent.updated(updated));
+    }
+
+    /**
+     * Whether the resource already has every field the row sets
+     */
+    private static boolean matches(Resource resource, CreateResourceRequest request) {
+        List<String> amenities = request.getAmenities() != null ? request.getAmenities() : List.of();
+        return resource.getType() == request.getType()
+                && Objects.equals(resource.getCapacity(), request.getCapacity())
+                && Objects.equals(resource.getFloor(), request.getFloor())
+                && Objects.equals(resource.getLocationX(), request.getLocationX())
+                && Objects.equals(resource.getLocationY(), request.getLocationY())
+                && (resource.getAmenities() != null ? new ArrayList<>(resource.getAmenities()) : List.of())
+                        .equals(amenities);
+    }
+
+    private static UpdateResourceRequest toUpdate(CreateResourceRequest request) {
+        UpdateResourceRequest update = new UpdateResourceRequest();
+        update.setCapacity(request.getCapacity());
+        update.setFloor(request.getFloor());
+        update.setLocationX(request.getLocationX());
+        update.setLocationY(request.getLocationY());
+        update.setAmenities(request.getAmenities() != null ? request.getAmenities() : new ArrayList<>());
+        return update;
+    }
+
+    private String violations(CreateResourceRequest request) {
+        Set<ConstraintViolation<CreateResourceRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private RowSource ndjsonRows(BufferedReader reader) {
+        int[] line = {0};
+        return () -> {
+            String text;
+            do {
+                text = reader.readLine();
+                line[0]++;
+            } while (text != null && text.isBlank());
+            if (text == null) {
+                return null;
+            }
+            try {
+                return new Row(line[0], objectMapper.readValue(text, CreateResourceRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(line[0], null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    /**
+     * Rows of a CSV file whose first record names the columns (case-insensitive):
+     * name, type, capacity, floor and optionally locationX, locationY and
+     * amenities (separated by ';' or '|')
+     */
+    private static RowSource csvRows(BufferedReader reader) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return () -> null;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("name", "type", "capacity", "floor")) {
+            if (!columns.containsKey(required)) {
+                throw new InvalidBulkRequestException("CSV header is missing column: " + required);
+            }
+        }
+        return () -> {
+            List<String> fields = csv.next();
+            if (fields == null) {
+                return null;
+            }
+            try {
+                CreateResourceRequest request = new CreateResourceRequest();
+                request.setName(field(fields, columns, "name"));
+                String type = field(fields, columns, "type");
+                request.setType(type != null ? ResourceType.valueOf(type.toUpperCase(Locale.ROOT)) : null);
+                request.setCapacity(parseInteger(field(fields, columns, "capacity")));
+                request.setFloor(parseInteger(field(fields, columns, "floor")));
+                request.setLocationX(parseFloat(field(fields, columns, "locationx")));
+                request.setLocationY(parseFloat(field(fields, columns, "locationy")));
+                String amenities = field(fields, columns, "amenities");
+                request.setAmenities(amenities == null ? new ArrayList<>() : Arrays.stream(amenities.split("[;|]"))
+                        .map(String::trim)
+                        .filter(amenity -> !amenity.isEmpty())
+                        .collect(Collectors.toCollection(ArrayList::new)));
+                return new Row(csv.getRecordLine(), request, null);
+            } catch (IllegalArgumentException e) {
+                return new Row(csv.getRecordLine(), null, "Unparseable value: " + e.getMessage());
+            }
+        };
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+            return null;
+        }
+        return fields.get(index).trim();
+    }
+
+    private static Integer parseInteger(String value) {
+        return value != null ? Integer.valueOf(value) : null;
+    }
+
+    private static Float parseFloat(String value) {
+        return value != null ? Float.valueOf(value) : null;
+    }
+
+    /**
+     * One input row: the parsed request, or why it could not be parsed
+     */
+    private record Row(long line, CreateResourceRequest request, String error) {}
+
+    private record PendingUpdate(ResourceResponse previous, Resource resource) {}
+
+    @FunctionalInterface
+    private interface RowSource {
+        Row next() throws IOException;
+    }
+}
@@ -0,0 +1,120 @@
+package com.library.catalog_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.catalog_service.cache.ResponseBytesCache;
+import com.library.catalog_service.dto.CursorPage;
+import com.library.catalog_service.dto.ResourceFilter;
+import com.library.catalog_service.dto.ResourceResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Renders resources and resource pages as JSON bytes from pre-encoded
+ * fragments held in {@link ResponseBytesCache}.
+ * <p>
+ * A page is its envelope around the cached JSON of each item, so Jackson
+ * only runs for resources whose version has not been encoded yet. Pages of
+ * the common floor, type and status listings are cached whole, keyed by the
+ * catalog version tag of the partition they list. A page is queried from the
+ * same database snapshot its tag is read in, never from the in-memory
+ * indexes, which catch up with a commit only after it, so bytes cached
+ * under a tag are always the content at that version.
+ */
+@Service
+public class ResourceJsonService {
+
+    private static final byte[] ITEMS_START = "{\"items\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NEXT_CURSOR = "],\"nextCursor\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HAS_MORE = ",\"hasMore\":".getBytes(StandardCharsets.UTF_8);
+
+    private final ResourceService resourceService;
+    private final ResponseBytesCache responseBytesCache;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersionService catalogVersionService;
+    private final TransactionTemplate snapshotTransaction;
+
+    public ResourceJsonService(ResourceService resourceService, ResponseBytesCache responseBytesCache,
+                               ObjectMapper objectMapper, CatalogVersionService catalogVersionService,
+                               PlatformTransactionManager transactionManager) {
+        this.resourceService = resourceService;
+        this.responseBytesCache = responseBytesCache;
+        this.objectMapper = objectMapper;
+        this.catalogVersionService = catalogVersionService;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * JSON of one resource
+     */
+    public byte[] resource(ResourceResponse resource) {
+        return responseBytesCache.resource(resource, this::encode);
+    }
+
+    /**
+     * JSON of a page of findResources, with the ETag of the partition the
+     * filter covers at the snapshot the page was read from
+     */
+    public ListPage findResources(ResourceFilter filter, String cursor, Integer limit) {
+        String partition = CatalogVersionService.partition(filter.getFloor(), filter.getType());
+        return snapshotTransaction.execute(status -> {
+            String eTag = CatalogVersionService.eTag(partition, catalogVersionService.version(partition));
+            if (!isCommonQuery(filter)) {
+                return new ListPage(eTag, page(resourceService.queryResources(filter, cursor, limit)));
+            }
+            String key = eTag + "|" + filter.getFloor() + "|" + filter.getType() + "|" + filter.getStatus()
+                    + "|" + cursor + "|" + limit;
+            return new ListPage(eTag, responseBytesCache.page(key,
+                    () -> page(resourceService.queryResources(filter, cursor, limit))));
+        });
+    }
+
+    private byte[] page(CursorPage<ResourceResponse> page) {
+        List<ResourceResponse> items = page.getItems();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + items.size() * 256);
+        out.writeBytes(ITEMS_START);
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(resource(items.get(i)));
+        }
+        out.writeBytes(NEXT_CURSOR);
+        out.writeBytes(encode(page.getNextCursor()));
+        out.writeBytes(HAS_MORE);
+        out.writeBytes(String.valueOf(page.isHasMore()).getBytes(StandardCharsets.UTF_8));
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    /**
+     * Listings by floor, type and status only; searches and capacity or
+     * amenity filters are too varied to be worth caching whole
+     */
+    private static boolean isCommonQuery(ResourceFilter filter) {
+        return filter.getName() == null && filter.getMinCapacity() == null && filter.getMaxCapacity() == null
+                && (filter.getAmenities() == null || filter.getAmenities().isEmpty());
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * A list page and the ETag of the version it holds
+     */
+    public record ListPage(String eTag, byte[] json) {
+    }
+}
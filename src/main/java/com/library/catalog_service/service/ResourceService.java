@@ -1,20 +1,47 @@
 package com.library.catalog_service.service;
 
+import com.library.catalog_service.cache.ResourceCache;
 import com.library.catalog_service.dto.CreateResourceRequest;
+import com.library.catalog_service.dto.CursorPage;
+import com.library.catalog_service.dto.NearbyResourceResponse;
+import com.library.catalog_service.dto.ResourceFilter;
 import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.dto.ResourceStatsResponse;
 import com.library.catalog_service.dto.UpdateResourceRequest;
 import com.library.catalog_service.entity.Resource;
+import com.library.catalog_service.event.ResourceChangedEvent;
 import com.library.catalog_service.entity.ResourceStatus;
 import com.library.catalog_service.entity.ResourceType;
 import com.library.catalog_service.exception.ResourceAlreadyExistsException;
+import com.library.catalog_service.exception.ConcurrentUpdateException;
+import com.library.catalog_service.exception.InvalidStatusChangeException;
+import com.library.catalog_service.exception.InvalidTimeRangeException;
 import com.library.catalog_service.exception.ResourceNotFoundException;
+import com.library.catalog_service.index.ResourceAvailabilityIndex;
+import com.library.catalog_service.index.ResourceBitmapIndex;
+import com.library.catalog_service.index.ResourceNameIndex;
+import com.library.catalog_service.index.ResourceSpatialIndex;
+import com.library.catalog_service.index.ResourceStatsIndex;
+import com.library.catalog_service.repository.ResourceBookingView;
 import com.library.catalog_service.repository.ResourceRepository;
+import com.library.catalog_service.repository.ResourceSpecifications;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -27,11 +54,50 @@ public class ResourceService {
 
     private final ResourceRepository resourceRepository;
     private final ResourceEventPublisher eventPublisher;
+    private final ResourceCache resourceCache;
+    private final ResourceNameIndex nameIndex;
+    private final ResourceSpatialIndex spatialIndex;
+    private final ResourceBitmapIndex bitmapIndex;
+    private final ResourceStatsIndex statsIndex;
+    private final ResourceAvailabilityIndex availabilityIndex;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int defaultSearchLimit;
+    private final int maxUpdateAttempts;
 
     public ResourceService(ResourceRepository resourceRepository,
-            ResourceEventPublisher eventPublisher) {
+            ResourceEventPublisher eventPublisher,
+            ResourceCache resourceCache,
+            ResourceNameIndex nameIndex,
+            ResourceSpatialIndex spatialIndex,
+            ResourceBitmapIndex bitmapIndex,
+            ResourceStatsIndex statsIndex,
+            ResourceAvailabilityIndex availabilityIndex,
+            ApplicationEventPublisher applicationEventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${catalog.pagination.default-page-size:50}") int defaultPageSize,
+            @Value("${catalog.pagination.max-page-size:200}") int maxPageSize,
+            @Value("${catalog.search.default-limit:10}") int defaultSearchLimit,
+            @Value("${catalog.updates.max-attempts:3}") int maxUpdateAttempts) {
         this.resourceRepository = resourceRepository;
         this.eventPublisher = eventPublisher;
+        this.resourceCache = resourceCache;
+        this.nameIndex = nameIndex;
+        this.spatialIndex = spatialIndex;
+        this.bitmapIndex = bitmapIndex;
+        this.statsIndex = statsIndex;
+        this.availabilityIndex = availabilityIndex;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.defaultSearchLimit = defaultSearchLimit;
+        this.maxUpdateAttempts = maxUpdateAttempts;
     }
 
     /**
@@ -46,22 +112,13 @@ public class ResourceService {
             throw new ResourceAlreadyExistsException("Resource with name already exists: " + request.getName());
         }
 
-        // Create new resource
-        Resource resource = new Resource();
-        resource.setName(request.getName());
-        resource.setType(request.getType());
-        resource.setCapacity(request.getCapacity());
-        resource.setFloor(request.getFloor());
-        resource.setLocationX(request.getLocationX());
-        resource.setLocationY(request.getLocationY());
-        resource.setAmenities(request.getAmenities());
-        resource.setStatus(ResourceStatus.AVAILABLE);
-
         // Save to database
-        resource = resourceRepository.save(resource);
+        Resource resource = resourceRepository.save(newResource(request));
+        resourceCache.evict(resource.getId());
         logger.info("Resource created successfully: {} (ID: {})", resource.getName(), resource.getId());
 
         ResourceResponse response = ResourceResponse.fromResource(resource);
+        applicationEventPublisher.publishEvent(ResourceChangedEvent.created(response));
 
         // Publish event
         eventPublisher.publishResourceCreated(response);
@@ -70,76 +127,225 @@ public class ResourceService {
     }
 
     /**
-     * Get resource by ID
+     * Get resource by ID, served from the resource cache when possible
      */
     public ResourceResponse getResourceById(Long id) {
-        Resource resource = resourceRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Resource not found with id: " + id));
-        return ResourceResponse.fromResource(resource);
+        return resourceCache.get(id, this::loadResource);
     }
 
     /**
-     * Get all resources
+     * Find resources matching the filter, one keyset page at a time.
+     * Filters on status, type, floor and amenities are answered from the
+     * bitmap index and the resource cache; anything else becomes a single query.
      */
-    public List<ResourceResponse> getAllResources() {
-        return resourceRepository.findAll().stream()
-                .map(ResourceResponse::fromResource)
-                .collect(Collectors.toList());
+    public CursorPage<ResourceResponse> findResources(ResourceFilter filter, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        long afterId = CursorPage.decodeCursor(cursor);
+
+        if (bitmapIndex.canAnswer(filter)) {
+            List<Long> ids = bitmapIndex.matchingIds(ResourceBitmapIndex.Query.of(filter), afterId, pageSize + 1);
+            boolean hasMore = ids.size() > pageSize;
+            List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+            // Re-check against the resolved rows in case one changed since the lookup
+            List<ResourceResponse> items = getResourcesByIds(pageIds).stream()
+                    .filter(filter::matches)
+                    .collect(Collectors.toList());
+            String nextCursor = hasMore ? CursorPage.encodeCursor(pageIds.get(pageIds.size() - 1)) : null;
+            return new CursorPage<>(items, nextCursor, hasMore);
+        }
+
+        return readOnlyTransaction.execute(status -> queryResources(filter, cursor, limit));
     }
 
     /**
-     * Get resources by type
+     * Find resources matching the filter with a single query, bypassing the
+     * indexes, so the page reflects the transaction it runs in
      */
-    public List<ResourceResponse> getResourcesByType(ResourceType type) {
-        return resourceRepository.findByType(type).stream()
-                .map(ResourceResponse::fromResource)
-                .collect(Collectors.toList());
+    public CursorPage<ResourceResponse> queryResources(ResourceFilter filter, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        long afterId = CursorPage.decodeCursor(cursor);
+        return toPage(resourceRepository.findBy(
+                ResourceSpecifications.matching(filter, afterId),
+                query -> query.sortBy(Sort.by("id")).limit(pageSize + 1).all()), pageSize);
     }
 
     /**
-     * Get resources by floor
+     * Find resources that are free for the whole of [from, to), one keyset page
+     * at a time, answered from the in-memory booked slots
      */
-    public List<ResourceResponse> getResourcesByFloor(Integer floor) {
-        return resourceRepository.findByFloor(floor).stream()
-                .map(ResourceResponse::fromResource)
-                .collect(Collectors.toList());
+    public CursorPage<ResourceResponse> findFreeResources(LocalDateTime from, LocalDateTime to, ResourceType type,
+            Integer floor, String cursor, Integer limit) {
+        if (!from.isBefore(to)) {
+            throw new InvalidTimeRangeException("'from' must be before 'to'");
+        }
+        int pageSize = resolvePageSize(limit);
+        List<Long> ids = availabilityIndex.freeIds(from, to, type, floor, CursorPage.decodeCursor(cursor),
+                pageSize + 1);
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        String nextCursor = hasMore ? CursorPage.encodeCursor(pageIds.get(pageIds.size() - 1)) : null;
+        return new CursorPage<>(getResourcesByIds(pageIds), nextCursor, hasMore);
     }
 
     /**
-     * Get resources by status
+     * Count resources matching the filter
      */
-    public List<ResourceResponse> getResourcesByStatus(ResourceStatus status) {
-        return resourceRepository.findByStatus(status).stream()
-                .map(ResourceResponse::fromResource)
-                .collect(Collectors.toList());
+    public long countResources(ResourceFilter filter) {
+        if (bitmapIndex.canAnswer(filter)) {
+            return bitmapIndex.count(ResourceBitmapIndex.Query.of(filter));
+        }
+        return resourceRepository.count(ResourceSpecifications.matching(filter, 0L));
     }
 
     /**
-     * Search resources by name
+     * Facet counts by floor, type, status and amenity from the incrementally maintained counters
      */
-    public List<ResourceResponse> searchResourcesByName(String name) {
-        return resourceRepository.findByNameContainingIgnoreCase(name).stream()
-                .map(ResourceResponse::fromResource)
+    public ResourceStatsResponse getStats() {
+        return statsIndex.stats();
+    }
+
+    /**
+     * Search resources by name using the in-memory n-gram index, best matches first
+     */
+    public List<ResourceResponse> searchResourcesByName(String query, Integer limit, boolean fuzzy) {
+        int size = limit == null ? defaultSearchLimit : Math.max(1, Math.min(limit, maxPageSize));
+        return getResourcesByIds(nameIndex.search(query, size, fuzzy));
+    }
+
+    /**
+     * Find the k AVAILABLE resources closest to a point on a floor, closest first
+     */
+    public List<NearbyResourceResponse> findNearestAvailable(int floor, double x, double y, Integer k,
+            ResourceType type, String amenity) {
+        int size = k == null ? defaultSearchLimit : Math.max(1, Math.min(k, maxPageSize));
+        List<ResourceSpatialIndex.Neighbour> neighbours =
+                spatialIndex.nearestAvailable(floor, x, y, size, type, amenity);
+        Map<Long, ResourceResponse> resources = resourceCache.getAll(
+                neighbours.stream().map(ResourceSpatialIndex.Neighbour::id).toList(), this::loadResources);
+        return neighbours.stream()
+                .filter(neighbour -> resources.containsKey(neighbour.id()))
+                .map(neighbour -> new NearbyResourceResponse(resources.get(neighbour.id()), neighbour.distance()))
                 .collect(Collectors.toList());
     }
 
     /**
-     * Update resource
+     * Update resource.
+     * The update is re-applied to freshly loaded state when a concurrent write
+     * (detected through the version column) got in first.
      */
-    @Transactional
     public ResourceResponse updateResource(Long id, UpdateResourceRequest request) {
+        if (isStatusOnly(request)) {
+            return updateResourceStatus(id, request.getStatus());
+        }
         logger.info("Updating resource: {}", id);
 
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return writeTransaction.execute(status -> applyUpdate(id, request));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxUpdateAttempts) {
+                    throw new ConcurrentUpdateException("Resource " + id + " is being modified concurrently, try again");
+                }
+                logger.warn("Resource {} was modified concurrently, retrying update (attempt {})", id, attempt);
+            }
+        }
+    }
+
+    /**
+     * Update resource status only, with a single conditional UPDATE instead of
+     * load-modify-save. The statement itself checks the status against the
+     * active bookings, so a booking event cannot slip in between the check and
+     * the write; nothing is written or published when the resource already
+     * has the status. Returns the new state.
+     */
+    public ResourceResponse updateResourceStatus(Long id, ResourceStatus status) {
+        logger.info("Updating resource status: {} to {}", id, status);
+        return writeTransaction.execute(transaction -> applyStatus(id, status));
+    }
+
+    private ResourceResponse applyStatus(Long id, ResourceStatus status) {
+        ResourceBookingView before = resourceRepository.findBookingStatesByIdIn(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Resource not found with id: " + id));
+        int updated = resourceRepository.updateStatus(id, status, LocalDateTime.now());
+        ResourceResponse response = resourceRepository.findWithAmenitiesById(id)
+                .map(ResourceResponse::fromResource)
+                .orElseThrow(() -> new ResourceNotFoundException("Resource not found with id: " + id));
+        if (updated == 0) {
+            if (response.getStatus() != status) {
+                throw new InvalidStatusChangeException(
+                        statusConflict(id, status, response.getActiveBookings(), response.getCapacity()));
+            }
+            logger.info("Resource {} already has status {}", id, status);
+            return response;
+        }
+
+        resourceCache.evict(id);
+        logger.info("Resource status updated successfully: {} (ID: {}) to {}", response.getName(), id, status);
+        ResourceResponse previous = beforeStateChange(response, before);
+        applicationEventPublisher.publishEvent(ResourceChangedEvent.updated(previous, response));
+
+        // Publish event
+        eventPublisher.publishResourceUpdated(previous, response);
+        return response;
+    }
+
+    private ResourceResponse applyUpdate(Long id, UpdateResourceRequest request) {
         Resource resource = resourceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource not found with id: " + id));
+        ResourceResponse previous = ResourceResponse.fromResource(resource);
+
+        // Check if new name conflicts with existing resource
+        if (request.getName() != null && !request.getName().isBlank()
+                && !resource.getName().equals(request.getName())
+                && resourceRepository.existsByName(request.getName())) {
+            throw new ResourceAlreadyExistsException("Resource with name already exists: " + request.getName());
+        }
+        applyChanges(resource, request);
+
+        // Flush now so a version conflict surfaces before anything is published
+        resource = resourceRepository.saveAndFlush(resource);
+        resourceCache.evict(id);
+        logger.info("Resource updated successfully: {} (ID: {})", resource.getName(), resource.getId());
+
+        ResourceResponse response = ResourceResponse.fromResource(resource);
+        applicationEventPublisher.publishEvent(ResourceChangedEvent.updated(previous, response));
+
+        // Publish event
+        eventPublisher.publishResourceUpdated(previous, response);
+
+        return response;
+    }
+
+    /**
+     * New AVAILABLE resource from a create request
+     */
+    static Resource newResource(CreateResourceRequest request) {
+        Resource resource = new Resource();
+        resource.setName(request.getName());
+        resource.setType(request.getType());
+        resource.setCapacity(request.getCapacity());
+        resource.setFloor(request.getFloor());
+        resource.setLocationX(request.getLocationX());
+        resource.setLocationY(request.getLocationY());
+        resource.setAmenities(request.getAmenities());
+        resource.setStatus(ResourceStatus.AVAILABLE);
+        return resource;
+    }
+
+    /**
+     * Copy the fields set in the request onto the resource; name uniqueness
+     * is the caller's concern. A requested status other than MAINTENANCE must
+     * be the one the active bookings imply, see {@link #statusConflict}.
+     */
+    static void applyChanges(Resource resource, UpdateResourceRequest request) {
+        String conflict = statusConflict(resource, request);
+        if (conflict != null) {
+            throw new InvalidStatusChangeException(conflict);
+        }
 
         // Update fields if provided
         if (request.getName() != null && !request.getName().isBlank()) {
-            // Check if new name conflicts with existing resource
-            if (!resource.getName().equals(request.getName()) &&
-                    resourceRepository.existsByName(request.getName())) {
-                throw new ResourceAlreadyExistsException("Resource with name already exists: " + request.getName());
-            }
             resource.setName(request.getName());
         }
 
@@ -163,38 +369,129 @@ public class ResourceService {
             resource.setAmenities(request.getAmenities());
         }
 
-        if (request.getStatus() != null) {
-            resource.setStatus(request.getStatus());
+        if (request.getStatus() == ResourceStatus.MAINTENANCE) {
+            resource.setStatus(ResourceStatus.MAINTENANCE);
+        } else if (request.getStatus() != null) {
+            // Leaves maintenance, if in it; the status itself was checked against the bookings above
+            resource.setStatus(deriveFromBookings(resource));
+        } else if (request.getCapacity() != null) {
+            resource.setStatus(resource.bookingStatus());
         }
+    }
 
-        resource = resourceRepository.save(resource);
-        logger.info("Resource updated successfully: {} (ID: {})", resource.getName(), resource.getId());
+    /**
+     * Whether the update changes nothing but the status
+     */
+    private static boolean isStatusOnly(UpdateResourceRequest request) {
+        return request.getStatus() != null
+                && (request.getName() == null || request.getName().isBlank())
+                && request.getCapacity() == null && request.getFloor() == null
+                && request.getLocationX() == null && request.getLocationY() == null
+                && request.getAmenities() == null;
+    }
 
-        ResourceResponse response = ResourceResponse.fromResource(resource);
+    /**
+     * Why the status requested in an update cannot be applied to the resource,
+     * or null if it can. Outside maintenance the active bookings decide between
+     * AVAILABLE and UNAVAILABLE, so an admin may only ask for the one they
+     * imply at the capacity the resource will have.
+     */
+    static String statusConflict(Resource resource, UpdateResourceRequest request) {
+        ResourceStatus requested = request.getStatus();
+        if (requested == null || requested == ResourceStatus.MAINTENANCE) {
+            return null;
+        }
+        int capacity = request.getCapacity() != null ? request.getCapacity() : resource.getCapacity();
+        return statusConflict(resource.getId(), requested, resource.getActiveBookings(), capacity);
+    }
 
-        // Publish event
-        eventPublisher.publishResourceUpdated(response);
+    private static String statusConflict(Long id, ResourceStatus requested, int activeBookings, int capacity) {
+        ResourceStatus implied = Resource.bookingStatus(activeBookings, capacity);
+        if (requested == implied) {
+            return null;
+        }
+        return "Resource " + id + " cannot be set to " + requested + ": " + activeBookings
+                + " active bookings for a capacity of " + capacity + " make it " + implied;
+    }
 
-        return response;
+    private static ResourceStatus deriveFromBookings(Resource resource) {
+        return Resource.bookingStatus(resource.getActiveBookings(), resource.getCapacity());
     }
 
     /**
-     * Update resource status only (used by BookingEventListener)
+     * Add booking deltas (bookings started minus bookings ended) to the
+     * active-booking counts of several resources, with one UPDATE per distinct
+     * delta. The counter and the status derived from it change atomically in
+     * the database, so concurrent events never overwrite each other. The
+     * previous state comes from a narrow projection; only the changed
+     * resources are loaded in full. Unknown ids are skipped. Returns the
+     * resources that changed.
      */
     @Transactional
-    public void updateResourceStatus(Long id, ResourceStatus status) {
-        logger.info("Updating resource status: {} to {}", id, status);
+    public List<ResourceResponse> applyBookingDeltas(Map<Long, Integer> deltas) {
+        Map<Long, Integer> nonZero = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (nonZero.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ResourceBookingView> previous = resourceRepository.findBookingStatesByIdIn(nonZero.keySet())
+                .stream()
+                .collect(Collectors.toMap(ResourceBookingView::getId, state -> state));
+        if (previous.size() < nonZero.size()) {
+            logger.warn("Booking events referenced {} unknown resources", nonZero.size() - previous.size());
+        }
+        // Counts already at zero stay there; the UPDATE skips those rows too
+        List<Long> changed = previous.values().stream()
+                .filter(state -> Math.max(state.getActiveBookings() + nonZero.get(state.getId()), 0)
+                        != state.getActiveBookings())
+                .map(ResourceBookingView::getId)
+                .toList();
+        if (changed.isEmpty()) {
+            return List.of();
+        }
 
-        Resource resource = resourceRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Resource not found with id: " + id));
+        LocalDateTime now = LocalDateTime.now();
+        changed.stream()
+                .collect(Collectors.groupingBy(nonZero::get))
+                .forEach((delta, ids) -> resourceRepository.addActiveBookings(ids, delta, now));
+
+        List<ResourceChangedEvent> changes = new ArrayList<>(changed.size());
+        for (Resource resource : resourceRepository.findAllWithAmenitiesByIdIn(changed)) {
+            ResourceResponse after = ResourceResponse.fromResource(resource);
+            resourceCache.evict(resource.getId());
+            ResourceChangedEvent change = ResourceChangedEvent.updated(
+                    beforeStateChange(after, previous.get(resource.getId())), after);
+            applicationEventPublisher.publishEvent(change);
+            changes.add(change);
+        }
+        logger.info("Applied booking changes to {} resources", changes.size());
 
-        resource.setStatus(status);
-        resource = resourceRepository.save(resource);
-        logger.info("Resource status updated successfully: {} (ID: {}) to {}", resource.getName(), resource.getId(),
-                status);
+        eventPublisher.publishResourcesUpdated(changes);
+        return changes.stream().map(ResourceChangedEvent::getCurrent).toList();
+    }
 
-        // Publish event
-        eventPublisher.publishResourceUpdated(ResourceResponse.fromResource(resource));
+    /**
+     * A resource as it was before a booking or status change: those only
+     * touch the counter, status, updatedAt and version
+     */
+    private static ResourceResponse beforeStateChange(ResourceResponse after, ResourceBookingView before) {
+        return new ResourceResponse(after.getId(), after.getName(), after.getType(), after.getCapacity(),
+                after.getFloor(), after.getLocationX(), after.getLocationY(), new ArrayList<>(after.getAmenities()),
+                before.getStatus(), before.getActiveBookings(), after.getCreatedAt(), before.getUpdatedAt(),
+                before.getVersion());
+    }
+
+    /**
+     * Publish the full current state of a resource on resource.changed
+     */
+    @Transactional
+    public ResourceResponse publishResourceSnapshot(Long id) {
+        ResourceResponse response = resourceRepository.findWithAmenitiesById(id)
+                .map(ResourceResponse::fromResource)
+                .orElseThrow(() -> new ResourceNotFoundException("Resource not found with id: " + id));
+        eventPublisher.publishResourceSnapshot(response);
+        return response;
     }
 
     /**
@@ -209,11 +506,60 @@ public class ResourceService {
 
         Long resourceId = resource.getId();
         String resourceName = resource.getName();
+        ResourceResponse previous = ResourceResponse.fromResource(resource);
 
         resourceRepository.delete(resource);
+        resourceCache.evict(id);
         logger.info("Resource deleted successfully: {} (ID: {})", resourceName, id);
+        applicationEventPublisher.publishEvent(ResourceChangedEvent.deleted(previous));
 
         // Publish event
         eventPublisher.publishResourceDeleted(resourceId);
     }
+
+    /**
+     * Resources for the given ids in the same order, skipping ids that no longer exist
+     */
+    private List<ResourceResponse> getResourcesByIds(List<Long> ids) {
+        Map<Long, ResourceResponse> found = resourceCache.getAll(ids, this::loadResources);
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, ResourceResponse> loadResources(Set<? extends Long> ids) {
+        return resourceRepository.findAllWithAmenitiesByIdIn(new ArrayList<Long>(ids)).stream()
+                .collect(Collectors.toMap(Resource::getId, ResourceResponse::fromResource));
+    }
+
+    private ResourceResponse loadResource(Long id) {
+        return resourceRepository.findWithAmenitiesById(id)
+                .map(ResourceResponse::fromResource)
+                .orElseThrow(() -> new ResourceNotFoundException("Resource not found with id: " + id));
+    }
+
+    /**
+     * Clamp the requested page size to the configured bounds
+     */
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    /**
+     * Build a page from a query that fetched one row more than the page size,
+     * the extra row only telling us whether another page exists
+     */
+    private CursorPage<ResourceResponse> toPage(List<Resource> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<ResourceResponse> items = rows.stream()
+                .limit(pageSize)
+                .map(ResourceResponse::fromResource)
+                .collect(Collectors.toList());
+        String nextCursor = hasMore ? CursorPage.encodeCursor(items.get(items.size() - 1).getId()) : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
 }
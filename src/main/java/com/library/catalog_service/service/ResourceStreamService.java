@@ -0,0 +1,360 @@
+package com.library.catalog_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.catalog_service.dto.CursorPage;
+import com.library.catalog_service.dto.ResourceFilter;
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.event.ResourceChangedEvent;
+import com.library.catalog_service.exception.StreamLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live Server-Sent Events stream of the resources on a floor.
+ * <p>
+ * A subscriber first gets a snapshot event with every resource on the floor,
+ * then a changed event with the full resource after each committed write to
+ * one of them, and a removed event when a resource is deleted or moves to
+ * another floor. Every write path raises ResourceChangedEvent (booking events
+ * included, through applyBookingDeltas), which is the only input.
+ * <p>
+ * Each event is serialized once and offered to the bounded queue of every
+ * subscriber of the floor, so the committing thread never waits for a client;
+ * a small pool of dispatcher threads drains the queues onto the connections.
+ * A subscriber whose queue fills up is disconnected and has to reconnect for a
+ * fresh snapshot. Writes to the connection block, so a write still running
+ * after the send timeout drops its subscriber, and the pool gets a thread to
+ * replace the one stuck in it (up to max-stalled-sends at a time) until the
+ * write returns; slow clients never take dispatch away from the others.
+ * Events carry the resource version: clients ignore an event that is not
+ * newer than what they hold. Heartbeat comments keep idle connections open
+ * through proxies and find dead ones.
+ * <p>
+ * Metrics: catalog.stream.subscribers and catalog.stream.dropped.
+ */
+@Service
+public class ResourceStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceStreamService.class);
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final ResourceService resourceService;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor dispatcher;
+    private final Map<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final int dispatcherThreads;
+    private final int maxStalledSends;
+    // Dispatcher threads added for sends stuck past the timeout; guarded by this
+    private int stalledSends;
+    private final Counter dropped;
+
+    public ResourceStreamService(ResourceService resourceService,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${catalog.stream.queue-capacity:256}") int queueCapacity,
+                                 @Value("${catalog.stream.max-subscribers:5000}") int maxSubscribers,
+                                 @Value("${catalog.stream.dispatcher-threads:4}") int dispatcherThreads,
+                                 @Value("${catalog.stream.timeout:30m}") Duration timeout,
+                                 @Value("${catalog.stream.send-timeout:5s}") Duration sendTimeout,
+                                 @Value("${catalog.stream.max-stalled-sends:64}") int maxStalledSends) {
+        this.resourceService = resourceService;
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.dispatcherThreads = dispatcherThreads;
+        this.maxStalledSends = maxStalledSends;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "resource-stream-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.dropped = Counter.builder("catalog.stream.dropped")
+                .description("Stream subscribers disconnected because they fell behind")
+                .register(meterRegistry);
+        Gauge.builder("catalog.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open resource stream connections")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.values().forEach(floor -> floor.forEach(Subscriber::close));
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Open a stream for the floor, starting with a snapshot of its resources
+     */
+    public SseEmitter subscribe(int floor) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new StreamLimitExceededException("Too many open resource streams, try again later");
+        }
+        Subscriber subscriber = new Subscriber(floor, new SseEmitter(timeoutMillis));
+        // Register before reading the snapshot so no change in between is missed
+        subscribers.compute(floor, (f, floorSubscribers) -> {
+            Set<Subscriber> set = floorSubscribers != null ? floorSubscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        try {
+            subscriber.emitter.send(frame("snapshot", floorSnapshot(floor)));
+        } catch (IOException e) {
+            subscriber.close();
+            throw new IllegalStateException("Cannot send snapshot of floor " + floor, e);
+        } catch (RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+        subscriber.open();
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResourceChanged(ResourceChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        ResourceResponse previous = event.getPrevious();
+        ResourceResponse current = event.getCurrent();
+        if (current != null && hasSubscribers(current.getFloor())) {
+            publish(current.getFloor(), frame("changed", current));
+        }
+        if (previous != null && (current == null || !Objects.equals(previous.getFloor(), current.getFloor()))
+                && hasSubscribers(previous.getFloor())) {
+            Long version = current != null ? current.getVersion() : previous.getVersion();
+            publish(previous.getFloor(), frame("removed", new Removed(event.getResourceId(), version)));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.stream.heartbeat-interval:15s}")
+    public void heartbeat() {
+        subscribers.values().forEach(floor -> floor.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+
+    /**
+     * Drop subscribers whose current write has run past the send timeout
+     */
+    @Scheduled(fixedDelayString = "${catalog.stream.stall-check-interval:1s}")
+    public void dropStalled() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(floor -> floor.forEach(subscriber -> subscriber.dropIfStalled(now)));
+    }
+
+    /**
+     * Add a dispatcher thread in place of one stuck in a write; false when
+     * max-stalled-sends threads are stuck already
+     */
+    private synchronized boolean replaceStalledThread() {
+        if (stalledSends >= maxStalledSends) {
+            return false;
+        }
+        stalledSends++;
+        dispatcher.setMaximumPoolSize(dispatcherThreads + stalledSends);
+        dispatcher.setCorePoolSize(dispatcherThreads + stalledSends);
+        return true;
+    }
+
+    /**
+     * The stuck write returned: shrink the pool back
+     */
+    private synchronized void releaseStalledThread() {
+        stalledSends--;
+        dispatcher.setCorePoolSize(dispatcherThreads + stalledSends);
+        dispatcher.setMaximumPoolSize(dispatcherThreads + stalledSends);
+    }
+
+    private boolean hasSubscribers(Integer floor) {
+        Set<Subscriber> floorSubscribers = floor != null ? subscribers.get(floor) : null;
+        return floorSubscribers != null && !floorSubscribers.isEmpty();
+    }
+
+    private void publish(Integer floor, Set<DataWithMediaType> frame) {
+        Set<Subscriber> floorSubscribers = subscribers.get(floor);
+        if (floorSubscribers != null) {
+            floorSubscribers.forEach(subscriber -> subscriber.offer(frame));
+        }
+    }
+
+    private List<ResourceResponse> floorSnapshot(int floor) {
+        ResourceFilter filter = new ResourceFilter();
+        filter.setFloor(floor);
+        List<ResourceResponse> resources = new ArrayList<>();
+        String cursor = null;
+        CursorPage<ResourceResponse> page;
+        do {
+            page = resourceService.findResources(filter, cursor, Integer.MAX_VALUE);
+            resources.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+        return resources;
+    }
+
+    /**
+     * Serialize once; the frame is shared by every subscriber it is sent to
+     */
+    private Set<DataWithMediaType> frame(String name, Object payload) {
+        try {
+            return SseEmitter.event().name(name).data(objectMapper.writeValueAsString(payload)).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + name + " event", e);
+        }
+    }
+
+    /**
+     * Payload of a removed event
+     */
+    public record Removed(Long id, Long version) {
+    }
+
+    private final class Subscriber {
+
+        private final int floor;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        // Set while a dispatcher drains the queue; held until open() so the snapshot goes first
+        private final AtomicBoolean draining = new AtomicBoolean(true);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // System.nanoTime() when the write in progress started, 0 between writes
+        private volatile long sendStarted;
+        // Set once a write ran past the send timeout, with whether a thread was added for it; guarded by this
+        private boolean stalled;
+        private boolean replaced;
+
+        private Subscriber(int floor, SseEmitter emitter) {
+            this.floor = floor;
+            this.emitter = emitter;
+            emitter.onCompletion(this::close);
+            emitter.onTimeout(this::close);
+            emitter.onError(error -> close());
+        }
+
+        private void open() {
+            draining.set(false);
+            scheduleDrain();
+        }
+
+        private void offer(Set<DataWithMediaType> frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                dropped.increment();
+                logger.warn("Resource stream subscriber on floor {} fell {} events behind, disconnecting",
+                        floor, queueCapacity);
+                close();
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!queue.isEmpty() && !closed.get() && draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> frame;
+                while (!closed.get() && (frame = queue.poll()) != null) {
+                    sendStarted = System.nanoTime();
+                    try {
+                        emitter.send(frame);
+                    } finally {
+                        sendStarted = 0;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter callbacks may not fire for a failed write
+                close();
+            } finally {
+                draining.set(false);
+            }
+            if (finishStall()) {
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void dropIfStalled(long now) {
+            long started = sendStarted;
+            if (started == 0 || now - started <= sendTimeoutNanos) {
+                return;
+            }
+            synchronized (this) {
+                if (stalled) {
+                    return;
+                }
+                stalled = true;
+                replaced = replaceStalledThread();
+            }
+            dropped.increment();
+            logger.warn("Resource stream subscriber on floor {} did not accept a write within the send timeout, "
+                    + "disconnecting", floor);
+            close();
+        }
+
+        /**
+         * After draining: give back the thread added for a stalled write; true if a write stalled
+         */
+        private synchronized boolean finishStall() {
+            if (stalled && replaced) {
+                releaseStalledThread();
+                replaced = false;
+            }
+            return stalled;
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                // Drop the floor's set with its last subscriber so the map only holds watched floors
+                subscribers.computeIfPresent(floor, (f, floorSubscribers) -> {
+                    floorSubscribers.remove(this);
+                    return floorSubscribers.isEmpty() ? null : floorSubscribers;
+                });
+                subscriberCount.decrementAndGet();
+                queue.clear();
+            }
+        }
+    }
+}
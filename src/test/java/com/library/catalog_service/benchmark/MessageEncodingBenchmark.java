@@ -0,0 +1,90 @@
+package com.library.catalog_service.benchmark;
+
+import com.library.catalog_service.config.Jackson2CborMessageConverter;
+import com.library.catalog_service.config.RabbitMQConfig;
+import com.library.catalog_service.dto.BookingEventDTO;
+import com.library.catalog_service.dto.ResourceChangeEvent;
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.entity.ResourceStatus;
+import com.library.catalog_service.entity.ResourceType;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares JSON and CBOR encoding of the messages the service sends and
+ * receives: payload size and average encode / decode time.
+ * Run the main method; not part of the test suite.
+ */
+public class MessageEncodingBenchmark {
+
+	private static final int WARMUP = 20_000;
+	private static final int ITERATIONS = 200_000;
+
+	// Keeps the results alive so the JIT cannot drop the measured work
+	private static volatile long blackhole;
+
+	public static void main(String[] args) {
+		MessageConverter converter = new RabbitMQConfig().messageConverter();
+		LocalDateTime now = LocalDateTime.now();
+
+		ResourceResponse resource = new ResourceResponse(42L, "Study Room 3.14", ResourceType.STUDY_ROOM, 6, 3,
+				12.5f, 40.25f, List.of("WHITEBOARD", "POWER_OUTLET", "PROJECTOR"), ResourceStatus.AVAILABLE, 2,
+				now.minusDays(30), now, 17L);
+		ResourceChangeEvent change = new ResourceChangeEvent(42L, 18L,
+				Map.of("activeBookings", 3, "updatedAt", now), null);
+		BookingEventDTO booking = new BookingEventDTO();
+		booking.setId(1001L);
+		booking.setUserId(7L);
+		booking.setResourceId(42L);
+		booking.setResourceName("Study Room 3.14");
+		booking.setStartTime(now.plusHours(1));
+		booking.setEndTime(now.plusHours(3));
+		booking.setStatus("CONFIRMED");
+		booking.setCreatedAt(now);
+		booking.setUpdatedAt(now);
+
+		System.out.printf("%-20s %-18s %8s %12s %12s%n", "payload", "content type", "bytes", "encode ns", "decode ns");
+		for (Object payload : List.of(resource, change, booking)) {
+			for (String contentType : List.of(MessageProperties.CONTENT_TYPE_JSON,
+					Jackson2CborMessageConverter.CONTENT_TYPE_CBOR)) {
+				run(converter, payload, contentType);
+			}
+		}
+	}
+
+	private static void run(MessageConverter converter, Object payload, String contentType) {
+		Message message = encode(converter, payload, contentType);
+		long sink = 0;
+		for (int i = 0; i < WARMUP; i++) {
+			sink += encode(converter, payload, contentType).getBody().length;
+			sink += converter.fromMessage(message).hashCode();
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			sink += encode(converter, payload, contentType).getBody().length;
+		}
+		long encodeNanos = (System.nanoTime() - start) / ITERATIONS;
+
+		start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			sink += converter.fromMessage(message).hashCode();
+		}
+		long decodeNanos = (System.nanoTime() - start) / ITERATIONS;
+		blackhole = sink;
+
+		System.out.printf("%-20s %-18s %8d %12d %12d%n", payload.getClass().getSimpleName(), contentType,
+				message.getBody().length, encodeNanos, decodeNanos);
+	}
+
+	private static Message encode(MessageConverter converter, Object payload, String contentType) {
+		MessageProperties properties = new MessageProperties();
+		properties.setContentType(contentType);
+		return converter.toMessage(payload, properties);
+	}
+}
@@ -0,0 +1,90 @@
+package com.library.catalog_service.index;
+
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.entity.ResourceStatus;
+import com.library.catalog_service.entity.ResourceType;
+import com.library.catalog_service.index.ResourceBitmapIndex.Query;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that bitmap queries OR values within a dimension, AND the
+ * dimensions together and follow updates and removals.
+ */
+class ResourceBitmapIndexTests {
+
+	private final ResourceBitmapIndex index = new ResourceBitmapIndex();
+
+	@Test
+	void matchesEveryDimensionOfTheQuery() {
+		index.put(resource(1L, ResourceType.SEAT, 1, ResourceStatus.AVAILABLE, "POWER_OUTLET", "LAMP"));
+		index.put(resource(2L, ResourceType.SEAT, 1, ResourceStatus.AVAILABLE, "LAMP"));
+		index.put(resource(3L, ResourceType.SEAT, 2, ResourceStatus.AVAILABLE, "POWER_OUTLET"));
+		index.put(resource(4L, ResourceType.STUDY_ROOM, 1, ResourceStatus.MAINTENANCE, "POWER_OUTLET"));
+
+		Query query = new Query(Set.of(ResourceStatus.AVAILABLE), Set.of(), Set.of(1), Set.of("POWER_OUTLET"));
+
+		assertThat(index.matchingIds(query, 0, 10)).containsExactly(1L);
+		assertThat(index.count(query)).isEqualTo(1);
+	}
+
+	@Test
+	void acceptsAnyOfTheValuesWithinADimension() {
+		index.put(resource(1L, ResourceType.SEAT, 1, ResourceStatus.AVAILABLE));
+		index.put(resource(2L, ResourceType.STUDY_ROOM, 1, ResourceStatus.AVAILABLE));
+		index.put(resource(3L, ResourceType.GROUP_ROOM, 1, ResourceStatus.AVAILABLE));
+
+		Query query = new Query(Set.of(), Set.of(ResourceType.SEAT, ResourceType.GROUP_ROOM), Set.of(), Set.of());
+
+		assertThat(index.matchingIds(query, 0, 10)).containsExactly(1L, 3L);
+	}
+
+	@Test
+	void unknownAmenityMatchesNothing() {
+		index.put(resource(1L, ResourceType.SEAT, 1, ResourceStatus.AVAILABLE, "LAMP"));
+
+		Query query = new Query(Set.of(), Set.of(), Set.of(), Set.of("WHITEBOARD"));
+
+		assertThat(index.count(query)).isZero();
+	}
+
+	@Test
+	void returnsTheSmallestIdsAfterTheCursorInOrder() {
+		for (long id = 10; id >= 1; id--) {
+			index.put(resource(id, ResourceType.SEAT, 1, ResourceStatus.AVAILABLE));
+		}
+
+		Query any = new Query(Set.of(), Set.of(), Set.of(), Set.of());
+
+		assertThat(index.matchingIds(any, 0, 3)).containsExactly(1L, 2L, 3L);
+		assertThat(index.matchingIds(any, 3, 3)).containsExactly(4L, 5L, 6L);
+		assertThat(index.matchingIds(any, 9, 3)).containsExactly(10L);
+	}
+
+	@Test
+	void followsUpdatesAndRemovals() {
+		index.put(resource(1L, ResourceType.SEAT, 1, ResourceStatus.AVAILABLE, "LAMP"));
+		index.put(resource(2L, ResourceType.SEAT, 1, ResourceStatus.AVAILABLE));
+
+		index.put(resource(1L, ResourceType.SEAT, 2, ResourceStatus.UNAVAILABLE));
+		index.remove(2L);
+		// Reuses the ordinal freed by resource 2
+		index.put(resource(3L, ResourceType.SEAT, 1, ResourceStatus.AVAILABLE));
+
+		assertThat(index.matchingIds(new Query(Set.of(), Set.of(), Set.of(1), Set.of()), 0, 10))
+				.containsExactly(3L);
+		assertThat(index.matchingIds(new Query(Set.of(ResourceStatus.UNAVAILABLE), Set.of(), Set.of(2), Set.of()),
+				0, 10)).containsExactly(1L);
+		assertThat(index.count(new Query(Set.of(), Set.of(), Set.of(), Set.of("LAMP")))).isZero();
+	}
+
+	private static ResourceResponse resource(Long id, ResourceType type, Integer floor, ResourceStatus status,
+			String... amenities) {
+		return new ResourceResponse(id, "Resource " + id, type, 1, floor, null, null, List.of(amenities), status, 0,
+				null, null, 0L);
+	}
+}
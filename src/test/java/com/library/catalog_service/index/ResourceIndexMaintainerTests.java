@@ -0,0 +1,53 @@
+package com.library.catalog_service.index;
+
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.entity.ResourceStatus;
+import com.library.catalog_service.entity.ResourceType;
+import com.library.catalog_service.event.ResourceChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Verifies that changes delivered out of order never replace a newer
+ * indexed version of a resource.
+ */
+class ResourceIndexMaintainerTests {
+
+	private final ResourceIndex index = mock(ResourceIndex.class);
+	private final ResourceIndexMaintainer maintainer =
+			new ResourceIndexMaintainer(mock(CatalogSnapshotReader.class), List.of(index));
+
+	@Test
+	void skipsAChangeOlderThanTheIndexedVersion() {
+		ResourceResponse older = resource(2L);
+		ResourceResponse newer = resource(3L);
+
+		maintainer.onResourceChanged(ResourceChangedEvent.updated(older, newer));
+		maintainer.onResourceChanged(ResourceChangedEvent.updated(resource(1L), older));
+
+		verify(index).put(newer);
+		verify(index, never()).put(older);
+	}
+
+	@Test
+	void skipsAChangeThatArrivesAfterTheDeletion() {
+		ResourceResponse current = resource(4L);
+
+		maintainer.onResourceChanged(ResourceChangedEvent.deleted(current));
+		maintainer.onResourceChanged(ResourceChangedEvent.updated(resource(3L), current));
+
+		verify(index).remove(1L);
+		verify(index, never()).put(any());
+	}
+
+	private static ResourceResponse resource(long version) {
+		return new ResourceResponse(1L, "Seat 1", ResourceType.SEAT, 1, 1, null, null, List.of(),
+				ResourceStatus.AVAILABLE, 0, null, null, version);
+	}
+}
@@ -0,0 +1,167 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.dto.BookingEventDTO;
+import com.library.catalog_service.entity.BookedSlot;
+import com.library.catalog_service.event.BookingEventType;
+import com.library.catalog_service.index.ResourceAvailabilityIndex;
+import com.library.catalog_service.repository.BookedSlotRepository;
+import com.library.catalog_service.service.BookingEventProcessor.BookingEvent;
+import com.library.catalog_service.service.BookingEventProcessor.UnappliedEventsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies the active-booking deltas produced for booking events, depending
+ * on what the booked_slots row of the booking says.
+ */
+class BookingEventProcessorTests {
+
+	private static final long BOOKING_ID = 42L;
+	private static final long RESOURCE_ID = 7L;
+
+	private final ResourceService resourceService = mock(ResourceService.class);
+	private final BookedSlotRepository bookedSlotRepository = mock(BookedSlotRepository.class);
+	private final ResourceAvailabilityIndex availabilityIndex = mock(ResourceAvailabilityIndex.class);
+	private final BookingEventProcessor processor = new BookingEventProcessor(resourceService, bookedSlotRepository,
+			availabilityIndex, mock(PlatformTransactionManager.class), 1, Duration.ofMinutes(5));
+
+	@AfterEach
+	void shutdown() {
+		processor.shutdown();
+	}
+
+	@Test
+	void createdCountsOnlyWhenItInsertsTheRow() {
+		when(bookedSlotRepository.insertIfAbsent(anyLong(), anyLong(), any(), any(), isNull())).thenReturn(1, 0);
+
+		processor.process(BookingEventType.CREATED, booking(LocalDateTime.now()));
+		processor.process(BookingEventType.CREATED, booking(LocalDateTime.now()));
+
+		assertThat(appliedDeltas(2)).containsExactly(Map.of(RESOURCE_ID, 1), Map.of(RESOURCE_ID, 0));
+	}
+
+	@Test
+	void endOfActiveBookingDecrementsAndReleasesTheSlot() {
+		when(bookedSlotRepository.markEnded(anyLong(), any())).thenReturn(1);
+
+		processor.process(BookingEventType.CANCELED, booking(LocalDateTime.now()));
+
+		assertThat(appliedDeltas(1)).containsExactly(Map.of(RESOURCE_ID, -1));
+		verify(availabilityIndex).release(Set.of(BOOKING_ID));
+	}
+
+	@Test
+	void repeatedEndChangesNothing() {
+		when(bookedSlotRepository.markEnded(anyLong(), any())).thenReturn(0);
+		when(bookedSlotRepository.insertIfAbsent(anyLong(), anyLong(), any(), any(), notNull())).thenReturn(0);
+
+		processor.process(BookingEventType.COMPLETED, booking(LocalDateTime.now().minusHours(1)));
+
+		assertThat(appliedDeltas(1)).containsExactly(Map.of(RESOURCE_ID, 0));
+	}
+
+	@Test
+	void endOvertakingARecentCreatedDoesNotDecrement() {
+		when(bookedSlotRepository.markEnded(anyLong(), any())).thenReturn(0);
+		when(bookedSlotRepository.insertIfAbsent(anyLong(), anyLong(), any(), any(), notNull())).thenReturn(1);
+
+		processor.process(BookingEventType.CANCELED, booking(LocalDateTime.now()));
+
+		assertThat(appliedDeltas(1)).containsExactly(Map.of(RESOURCE_ID, 0));
+	}
+
+	@Test
+	void endOfAnOlderUnknownBookingDecrements() {
+		when(bookedSlotRepository.markEnded(anyLong(), any())).thenReturn(0);
+		when(bookedSlotRepository.insertIfAbsent(anyLong(), anyLong(), any(), any(), notNull())).thenReturn(1);
+
+		processor.process(BookingEventType.CANCELED, booking(LocalDateTime.now().minusHours(1)));
+
+		assertThat(appliedDeltas(1)).containsExactly(Map.of(RESOURCE_ID, -1));
+	}
+
+	@Test
+	void createdAndCanceledInOneBatchCancelOut() {
+		when(bookedSlotRepository.insertIfAbsent(anyLong(), anyLong(), any(), any(), isNull())).thenReturn(1);
+		when(bookedSlotRepository.markEnded(anyLong(), any())).thenReturn(1);
+		BookingEventDTO booking = booking(LocalDateTime.now());
+
+		processor.processBatch(List.of(new BookingEvent(BookingEventType.CREATED, booking),
+				new BookingEvent(BookingEventType.CANCELED, booking)));
+
+		assertThat(appliedDeltas(1)).containsExactly(Map.of(RESOURCE_ID, 0));
+		verify(availabilityIndex).release(Set.of(BOOKING_ID));
+		ArgumentCaptor<Collection<BookedSlot>> booked = ArgumentCaptor.captor();
+		verify(availabilityIndex).book(booked.capture());
+		assertThat(booked.getValue()).isEmpty();
+	}
+
+	@Test
+	void eventWithoutBookingIdIsRejected() {
+		BookingEventDTO booking = booking(LocalDateTime.now());
+		booking.setId(null);
+
+		processor.process(BookingEventType.CANCELED, booking);
+
+		verify(resourceService, never()).applyBookingDeltas(any());
+	}
+
+	@Test
+	void failedStripeReportsOnlyItsOwnEvents() {
+		BookingEventProcessor twoStripes = new BookingEventProcessor(resourceService, bookedSlotRepository,
+				availabilityIndex, mock(PlatformTransactionManager.class), 2, Duration.ofMinutes(5));
+		when(bookedSlotRepository.insertIfAbsent(anyLong(), anyLong(), any(), any(), isNull())).thenReturn(1);
+		BookingEventDTO otherBooking = booking(LocalDateTime.now());
+		otherBooking.setId(BOOKING_ID + 1);
+		otherBooking.setResourceId(RESOURCE_ID + 1);
+		when(resourceService.applyBookingDeltas(Map.of(RESOURCE_ID + 1, 1)))
+				.thenThrow(new IllegalStateException("deadlock detected"));
+		BookingEvent committed = new BookingEvent(BookingEventType.CREATED, booking(LocalDateTime.now()));
+		BookingEvent failed = new BookingEvent(BookingEventType.CREATED, otherBooking);
+
+		try {
+			assertThatThrownBy(() -> twoStripes.processBatch(List.of(committed, failed)))
+					.isInstanceOfSatisfying(UnappliedEventsException.class,
+							e -> assertThat(e.getUnapplied()).containsExactly(failed));
+		} finally {
+			twoStripes.shutdown();
+		}
+	}
+
+	private List<Map<Long, Integer>> appliedDeltas(int times) {
+		ArgumentCaptor<Map<Long, Integer>> deltas = ArgumentCaptor.captor();
+		verify(resourceService, times(times)).applyBookingDeltas(deltas.capture());
+		return deltas.getAllValues();
+	}
+
+	private static BookingEventDTO booking(LocalDateTime createdAt) {
+		BookingEventDTO booking = new BookingEventDTO();
+		booking.setId(BOOKING_ID);
+		booking.setResourceId(RESOURCE_ID);
+		booking.setStartTime(LocalDateTime.now().plusHours(1));
+		booking.setEndTime(LocalDateTime.now().plusHours(2));
+		booking.setCreatedAt(createdAt);
+		return booking;
+	}
+}
@@ -0,0 +1,128 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.entity.Resource;
+import com.library.catalog_service.entity.ResourceType;
+import com.library.catalog_service.event.ResourceChangedEvent;
+import com.library.catalog_service.repository.CatalogVersionRepository;
+import com.library.catalog_service.repository.ResourceRepository;
+import com.library.catalog_service.repository.ResourceTombstoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the portable path used off PostgreSQL: partition versions are
+ * bumped when a write commits and only then, and written resources are
+ * stamped with increasing change sequences.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogVersionServiceTests {
+
+	@Configuration
+	@EntityScan(basePackageClasses = Resource.class)
+	@EnableJpaRepositories(basePackageClasses = ResourceRepository.class)
+	@Import(CatalogVersionService.class)
+	static class TestConfig {
+	}
+
+	@Autowired
+	private CatalogVersionService catalogVersionService;
+
+	@Autowired
+	private ResourceRepository resourceRepository;
+
+	@Autowired
+	private ResourceTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private CatalogVersionRepository catalogVersionRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@AfterEach
+	void cleanUp() {
+		resourceRepository.deleteAll();
+		tombstoneRepository.deleteAll();
+		catalogVersionRepository.deleteAll();
+	}
+
+	@Test
+	void bumpsEveryTouchedPartitionOnCommit() {
+		ResourceResponse created = write(null, new Resource("Seat 1", ResourceType.SEAT, 1, 1));
+
+		assertThat(catalogVersionService.version("f1")).isEqualTo(1);
+		assertThat(catalogVersionService.version("tSEAT")).isEqualTo(1);
+		assertThat(catalogVersionService.version("f2")).isZero();
+
+		Resource moved = resourceRepository.findById(created.getId()).orElseThrow();
+		moved.setFloor(2);
+		write(created, moved);
+
+		assertThat(catalogVersionService.version("f1")).isEqualTo(2);
+		assertThat(catalogVersionService.version("f2")).isEqualTo(1);
+		assertThat(catalogVersionService.version("tSEAT")).isEqualTo(2);
+	}
+
+	@Test
+	void catalogVersionGrowsWithWritesOfAnyType() {
+		write(null, new Resource("Seat 1", ResourceType.SEAT, 1, 1));
+		long before = catalogVersionService.version(CatalogVersionService.CATALOG);
+
+		write(null, new Resource("Room 1", ResourceType.STUDY_ROOM, 4, 3));
+
+		assertThat(catalogVersionService.version(CatalogVersionService.CATALOG)).isGreaterThan(before);
+	}
+
+	@Test
+	void rolledBackWriteBumpsNothing() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			Resource saved = resourceRepository.save(new Resource("Seat 1", ResourceType.SEAT, 1, 1));
+			ResourceResponse created = ResourceResponse.fromResource(saved);
+			catalogVersionService.onResourceChanged(ResourceChangedEvent.created(created));
+			status.setRollbackOnly();
+		});
+
+		assertThat(catalogVersionService.version("f1")).isZero();
+		assertThat(catalogVersionService.version(CatalogVersionService.CATALOG)).isZero();
+	}
+
+	@Test
+	void stampsWrittenResourcesWithIncreasingSequences() {
+		ResourceResponse first = write(null, new Resource("Seat 1", ResourceType.SEAT, 1, 1));
+		ResourceResponse second = write(null, new Resource("Seat 2", ResourceType.SEAT, 1, 2));
+
+		long firstSequence = resourceRepository.findById(first.getId()).orElseThrow().getChangeSeq();
+		long secondSequence = resourceRepository.findById(second.getId()).orElseThrow().getChangeSeq();
+
+		assertThat(firstSequence).isPositive();
+		assertThat(secondSequence).isGreaterThan(firstSequence);
+		assertThat(catalogVersionService.watermark()).isEqualTo(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Save the resource and announce the change in one committed transaction
+	 */
+	private ResourceResponse write(ResourceResponse previous, Resource resource) {
+		return new TransactionTemplate(transactionManager).execute(status -> {
+			ResourceResponse current = ResourceResponse.fromResource(resourceRepository.save(resource));
+			catalogVersionService.onResourceChanged(previous == null
+					? ResourceChangedEvent.created(current)
+					: ResourceChangedEvent.updated(previous, current));
+			return current;
+		});
+	}
+}
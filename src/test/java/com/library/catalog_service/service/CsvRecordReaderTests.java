@@ -0,0 +1,73 @@
+package com.library.catalog_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies RFC 4180 parsing: quoting, escaped quotes, fields spanning lines,
+ * line endings and the line numbers reported for each record.
+ */
+class CsvRecordReaderTests {
+
+	@Test
+	void splitsRecordsAndFields() throws IOException {
+		assertThat(readAll("name,type\nSeat 1,SEAT\nSeat 2,SEAT"))
+				.containsExactly(List.of("name", "type"), List.of("Seat 1", "SEAT"), List.of("Seat 2", "SEAT"));
+	}
+
+	@Test
+	void keepsEmptyFields() throws IOException {
+		assertThat(readAll("a,,c,\n")).containsExactly(List.of("a", "", "c", ""));
+	}
+
+	@Test
+	void unquotesFieldsWithCommasQuotesAndLineBreaks() throws IOException {
+		assertThat(readAll("\"Room, east\",\"say \"\"hi\"\"\",\"two\nlines\"\n"))
+				.containsExactly(List.of("Room, east", "say \"hi\"", "two\nlines"));
+	}
+
+	@Test
+	void acceptsCrLfAndSkipsBlankLines() throws IOException {
+		assertThat(readAll("a,b\r\n\r\n\nc,d\r\n")).containsExactly(List.of("a", "b"), List.of("c", "d"));
+	}
+
+	@Test
+	void reportsTheLineEachRecordStartsOn() throws IOException {
+		CsvRecordReader reader = new CsvRecordReader(new StringReader("a\n\"b\nc\"\n\nd\n"));
+
+		reader.next();
+		assertThat(reader.getRecordLine()).isEqualTo(1);
+		reader.next();
+		assertThat(reader.getRecordLine()).isEqualTo(2);
+		reader.next();
+		assertThat(reader.getRecordLine()).isEqualTo(5);
+		assertThat(reader.next()).isNull();
+	}
+
+	@Test
+	void rejectsAnUnterminatedQuotedField() {
+		CsvRecordReader reader = new CsvRecordReader(new StringReader("a\n\"b,c\n"));
+
+		assertThatThrownBy(() -> {
+			reader.next();
+			reader.next();
+		}).isInstanceOf(IOException.class).hasMessageContaining("line 2");
+	}
+
+	private static List<List<String>> readAll(String csv) throws IOException {
+		CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+		List<List<String>> records = new ArrayList<>();
+		List<String> record;
+		while ((record = reader.next()) != null) {
+			records.add(record);
+		}
+		return records;
+	}
+}
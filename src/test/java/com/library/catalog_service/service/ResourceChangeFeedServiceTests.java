@@ -0,0 +1,142 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.dto.ChangeFeedEntry;
+import com.library.catalog_service.dto.ChangeFeedPage;
+import com.library.catalog_service.dto.ChangeFeedPage.Position;
+import com.library.catalog_service.entity.Resource;
+import com.library.catalog_service.entity.ResourceTombstone;
+import com.library.catalog_service.entity.ResourceType;
+import com.library.catalog_service.exception.InvalidCursorException;
+import com.library.catalog_service.exception.SyncTokenExpiredException;
+import com.library.catalog_service.repository.ResourceRepository;
+import com.library.catalog_service.repository.ResourceTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies sync tokens: their encoding, rejection of malformed and expired
+ * tokens, and the position each page hands back.
+ */
+class ResourceChangeFeedServiceTests {
+
+	private final ResourceRepository resourceRepository = mock(ResourceRepository.class);
+	private final ResourceTombstoneRepository tombstoneRepository = mock(ResourceTombstoneRepository.class);
+	private final CatalogVersionService catalogVersionService = mock(CatalogVersionService.class);
+	private final ResourceChangeFeedService service = new ResourceChangeFeedService(resourceRepository,
+			tombstoneRepository, catalogVersionService, mock(PlatformTransactionManager.class), 200, 1000,
+			Duration.ofDays(30));
+
+	@BeforeEach
+	void everyChangeIsFinal() {
+		when(catalogVersionService.watermark()).thenReturn(Long.MAX_VALUE);
+	}
+
+	@Test
+	void tokenRoundTrips() {
+		Position position = new Position(12L, 34L, LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_000_000));
+
+		assertThat(ChangeFeedPage.decodeToken(ChangeFeedPage.encodeToken(position))).isEqualTo(position);
+		assertThat(ChangeFeedPage.decodeToken(null)).isNull();
+		assertThat(ChangeFeedPage.decodeToken(" ")).isNull();
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		String twoParts = Base64.getUrlEncoder().encodeToString("1,2".getBytes(StandardCharsets.UTF_8));
+		String badTime = Base64.getUrlEncoder().encodeToString("1,2,yesterday".getBytes(StandardCharsets.UTF_8));
+
+		assertThatThrownBy(() -> service.changesSince("not a token!", null))
+				.isInstanceOf(InvalidCursorException.class);
+		assertThatThrownBy(() -> service.changesSince(twoParts, null)).isInstanceOf(InvalidCursorException.class);
+		assertThatThrownBy(() -> service.changesSince(badTime, null)).isInstanceOf(InvalidCursorException.class);
+	}
+
+	@Test
+	void rejectsTokensOlderThanTheRetention() {
+		String token = ChangeFeedPage.encodeToken(new Position(5L, 1L, LocalDateTime.now().minusDays(31)));
+
+		assertThatThrownBy(() -> service.changesSince(token, null)).isInstanceOf(SyncTokenExpiredException.class);
+		verifyNoInteractions(resourceRepository, tombstoneRepository, catalogVersionService);
+	}
+
+	@Test
+	void mergesChangesAndDeletionsInSequenceOrder() {
+		when(resourceRepository.findChangedAfter(eq(0L), eq(0L), anyLong(), any()))
+				.thenReturn(List.of(resource(5L, 1L), resource(2L, 3L)));
+		when(tombstoneRepository.findDeletedAfter(eq(0L), eq(0L), anyLong(), any()))
+				.thenReturn(List.of(new ResourceTombstone(9L, LocalDateTime.now(), 2L)));
+
+		ChangeFeedPage page = service.changesSince(null, 2);
+
+		assertThat(page.getItems()).extracting(ChangeFeedEntry::getId).containsExactly(5L, 9L);
+		assertThat(page.getItems()).extracting(ChangeFeedEntry::isDeleted).containsExactly(false, true);
+		assertThat(page.isHasMore()).isTrue();
+		Position next = ChangeFeedPage.decodeToken(page.getNextToken());
+		assertThat(next.sequence()).isEqualTo(2L);
+		assertThat(next.id()).isEqualTo(9L);
+	}
+
+	@Test
+	void keepsTheSyncStartUntilTheClientHasCaughtUp() {
+		LocalDateTime started = LocalDateTime.now().minusHours(1);
+		String token = ChangeFeedPage.encodeToken(new Position(2L, 9L, started));
+		when(resourceRepository.findChangedAfter(eq(2L), eq(9L), anyLong(), any()))
+				.thenReturn(List.of(resource(2L, 3L), resource(4L, 4L)));
+
+		Position partial = ChangeFeedPage.decodeToken(service.changesSince(token, 1).getNextToken());
+		Position caughtUp = ChangeFeedPage.decodeToken(service.changesSince(token, 2).getNextToken());
+
+		assertThat(partial).isEqualTo(new Position(3L, 2L, started));
+		assertThat(caughtUp.sequence()).isEqualTo(4L);
+		assertThat(caughtUp.complete()).isAfter(started);
+	}
+
+	@Test
+	void emptyPageKeepsThePosition() {
+		String token = ChangeFeedPage.encodeToken(new Position(7L, 3L, LocalDateTime.now().minusMinutes(1)));
+		when(resourceRepository.findChangedAfter(anyLong(), any(), anyLong(), any())).thenReturn(List.of());
+		when(tombstoneRepository.findDeletedAfter(anyLong(), any(), anyLong(), any())).thenReturn(List.of());
+
+		ChangeFeedPage page = service.changesSince(token, null);
+
+		assertThat(page.getItems()).isEmpty();
+		assertThat(page.isHasMore()).isFalse();
+		Position next = ChangeFeedPage.decodeToken(page.getNextToken());
+		assertThat(next.sequence()).isEqualTo(7L);
+		assertThat(next.id()).isEqualTo(3L);
+	}
+
+	@Test
+	void readsOnlyBelowTheWatermark() {
+		when(catalogVersionService.watermark()).thenReturn(500L);
+
+		service.changesSince(null, null);
+
+		verify(resourceRepository).findChangedAfter(eq(0L), eq(0L), eq(500L), any());
+		verify(tombstoneRepository).findDeletedAfter(eq(0L), eq(0L), eq(500L), any());
+	}
+
+	private static Resource resource(Long id, Long changeSeq) {
+		Resource resource = new Resource("Seat " + id, ResourceType.SEAT, 1, 1);
+		resource.setId(id);
+		resource.setChangeSeq(changeSeq);
+		return resource;
+	}
+}
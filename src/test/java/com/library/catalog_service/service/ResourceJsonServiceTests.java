@@ -0,0 +1,194 @@
+package com.library.catalog_service.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.catalog_service.cache.ResourceCache;
+import com.library.catalog_service.cache.ResponseBytesCache;
+import com.library.catalog_service.dto.ResourceFilter;
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.entity.Resource;
+import com.library.catalog_service.entity.ResourceType;
+import com.library.catalog_service.event.ResourceChangedEvent;
+import com.library.catalog_service.index.ResourceAvailabilityIndex;
+import com.library.catalog_service.index.ResourceBitmapIndex;
+import com.library.catalog_service.index.ResourceNameIndex;
+import com.library.catalog_service.index.ResourceSpatialIndex;
+import com.library.catalog_service.index.ResourceStatsIndex;
+import com.library.catalog_service.repository.CatalogVersionRepository;
+import com.library.catalog_service.repository.ResourceRepository;
+import com.library.catalog_service.repository.ResourceTombstoneRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Verifies that a cached list page is keyed by the version its content was
+ * read at, when a write commits while the page is being built.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ResourceJsonServiceTests {
+
+	@Configuration
+	@EntityScan(basePackageClasses = Resource.class)
+	@EnableJpaRepositories(basePackageClasses = ResourceRepository.class)
+	@Import({ResourceJsonService.class, ResourceService.class, CatalogVersionService.class, ResponseBytesCache.class})
+	static class TestConfig {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		ObjectMapper objectMapper() {
+			return new ObjectMapper().findAndRegisterModules();
+		}
+	}
+
+	@MockitoBean
+	private ResourceEventPublisher eventPublisher;
+
+	@MockitoBean
+	private ResourceCache resourceCache;
+
+	@MockitoBean
+	private ResourceNameIndex nameIndex;
+
+	@MockitoBean
+	private ResourceSpatialIndex spatialIndex;
+
+	@MockitoBean
+	private ResourceBitmapIndex bitmapIndex;
+
+	@MockitoBean
+	private ResourceStatsIndex statsIndex;
+
+	@MockitoBean
+	private ResourceAvailabilityIndex availabilityIndex;
+
+	@MockitoSpyBean
+	private ResponseBytesCache responseBytesCache;
+
+	@Autowired
+	private ResourceJsonService resourceJsonService;
+
+	@Autowired
+	private CatalogVersionService catalogVersionService;
+
+	@Autowired
+	private ResourceRepository resourceRepository;
+
+	@Autowired
+	private ResourceTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private CatalogVersionRepository catalogVersionRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@AfterEach
+	void cleanUp() {
+		resourceRepository.deleteAll();
+		tombstoneRepository.deleteAll();
+		catalogVersionRepository.deleteAll();
+	}
+
+	@Test
+	void writeCommittedDuringAPageReadIsNotServedUnderTheOldTag() throws IOException {
+		ResourceResponse seat = write(null, new Resource("Seat 1", ResourceType.SEAT, 1, 1));
+		ResourceFilter firstFloor = new ResourceFilter();
+		firstFloor.setFloor(1);
+		String tagBeforeWrite = CatalogVersionService.eTag("f1", catalogVersionService.version("f1"));
+
+		// Commit a write after the page's tag is read, while its content is being built
+		AtomicBoolean interleaved = new AtomicBoolean();
+		doAnswer(invocation -> {
+			if (interleaved.compareAndSet(false, true)) {
+				CompletableFuture.runAsync(() -> resize(seat, 4)).join();
+			}
+			return invocation.callRealMethod();
+		}).when(responseBytesCache).page(anyString(), any());
+
+		ResourceJsonService.ListPage raced = resourceJsonService.findResources(firstFloor, null, null);
+		ResourceJsonService.ListPage next = resourceJsonService.findResources(firstFloor, null, null);
+
+		assertThat(interleaved).isTrue();
+		assertThat(raced.eTag()).isEqualTo(tagBeforeWrite);
+		assertThat(next.eTag()).isNotEqualTo(tagBeforeWrite);
+		assertThat(capacities(next)).containsExactly(4);
+	}
+
+	@Test
+	void repeatedReadIsServedFromTheCachedPage() throws IOException {
+		write(null, new Resource("Seat 1", ResourceType.SEAT, 2, 1));
+		ResourceFilter firstFloor = new ResourceFilter();
+		firstFloor.setFloor(1);
+
+		ResourceJsonService.ListPage first = resourceJsonService.findResources(firstFloor, null, null);
+		ResourceJsonService.ListPage second = resourceJsonService.findResources(firstFloor, null, null);
+
+		assertThat(second.eTag()).isEqualTo(first.eTag());
+		assertThat(second.json()).isSameAs(first.json());
+		assertThat(capacities(second)).containsExactly(2);
+	}
+
+	private void resize(ResourceResponse previous, int capacity) {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			Resource resource = resourceRepository.findById(previous.getId()).orElseThrow();
+			resource.setCapacity(capacity);
+			ResourceResponse current = ResourceResponse.fromResource(resourceRepository.saveAndFlush(resource));
+			catalogVersionService.onResourceChanged(ResourceChangedEvent.updated(previous, current));
+		});
+	}
+
+	/**
+	 * Save the resource and announce the change in one committed transaction
+	 */
+	private ResourceResponse write(ResourceResponse previous, Resource resource) {
+		return new TransactionTemplate(transactionManager).execute(status -> {
+			ResourceResponse current = ResourceResponse.fromResource(resourceRepository.save(resource));
+			catalogVersionService.onResourceChanged(previous == null
+					? ResourceChangedEvent.created(current)
+					: ResourceChangedEvent.updated(previous, current));
+			return current;
+		});
+	}
+
+	private List<Integer> capacities(ResourceJsonService.ListPage page) throws IOException {
+		List<Integer> capacities = new ArrayList<>();
+		for (JsonNode item : objectMapper.readTree(page.json()).get("items")) {
+			capacities.add(item.get("capacity").asInt());
+		}
+		return capacities;
+	}
+}
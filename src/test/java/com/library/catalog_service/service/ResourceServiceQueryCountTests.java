@@ -0,0 +1,107 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.cache.ResourceCache;
+import com.library.catalog_service.dto.CursorPage;
+import com.library.catalog_service.dto.ResourceFilter;
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.entity.Resource;
+import com.library.catalog_service.entity.ResourceType;
+import com.library.catalog_service.index.ResourceAvailabilityIndex;
+import com.library.catalog_service.index.ResourceBitmapIndex;
+import com.library.catalog_service.index.ResourceNameIndex;
+import com.library.catalog_service.index.ResourceSpatialIndex;
+import com.library.catalog_service.index.ResourceStatsIndex;
+import com.library.catalog_service.repository.ResourceRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that listing resources issues a constant number of statements,
+ * however many resources (and amenity collections) the page contains.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ResourceServiceQueryCountTests {
+
+	@Configuration
+	@EntityScan(basePackageClasses = Resource.class)
+	@EnableJpaRepositories(basePackageClasses = ResourceRepository.class)
+	@Import(ResourceService.class)
+	static class TestConfig {
+	}
+
+	@MockitoBean
+	private ResourceEventPublisher eventPublisher;
+
+	@MockitoBean
+	private ResourceCache resourceCache;
+
+	@MockitoBean
+	private ResourceNameIndex nameIndex;
+
+	@MockitoBean
+	private ResourceSpatialIndex spatialIndex;
+
+	@MockitoBean
+	private ResourceBitmapIndex bitmapIndex;
+
+	@MockitoBean
+	private ResourceStatsIndex statsIndex;
+
+	@MockitoBean
+	private ResourceAvailabilityIndex availabilityIndex;
+
+	@Autowired
+	private ResourceService resourceService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void listingStatementCountDoesNotGrowWithPageSize() {
+		for (int i = 0; i < 120; i++) {
+			Resource resource = new Resource("Seat " + i, ResourceType.SEAT, 1, i % 3);
+			resource.setAmenities(List.of("POWER_OUTLET", "LAMP"));
+			entityManager.persist(resource);
+		}
+		entityManager.flush();
+
+		long smallPage = countStatements(() -> resourceService.findResources(new ResourceFilter(), null, 5));
+		long largePage = countStatements(() -> resourceService.findResources(new ResourceFilter(), null, 100));
+
+		assertThat(largePage).isEqualTo(smallPage);
+		assertThat(smallPage).isLessThanOrEqualTo(2);
+	}
+
+	private long countStatements(Supplier<CursorPage<ResourceResponse>> listing) {
+		entityManager.clear();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		CursorPage<ResourceResponse> page = listing.get();
+
+		assertThat(page.getItems()).allSatisfy(resource ->
+				assertThat(resource.getAmenities()).containsExactlyInAnyOrder("POWER_OUTLET", "LAMP"));
+		return statistics.getPrepareStatementCount();
+	}
+}
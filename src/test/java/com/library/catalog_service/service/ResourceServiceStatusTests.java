@@ -0,0 +1,120 @@
+package com.library.catalog_service.service;
+
+import com.library.catalog_service.cache.ResourceCache;
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.dto.UpdateResourceRequest;
+import com.library.catalog_service.entity.Resource;
+import com.library.catalog_service.entity.ResourceStatus;
+import com.library.catalog_service.entity.ResourceType;
+import com.library.catalog_service.exception.InvalidStatusChangeException;
+import com.library.catalog_service.index.ResourceAvailabilityIndex;
+import com.library.catalog_service.index.ResourceBitmapIndex;
+import com.library.catalog_service.index.ResourceNameIndex;
+import com.library.catalog_service.index.ResourceSpatialIndex;
+import com.library.catalog_service.index.ResourceStatsIndex;
+import com.library.catalog_service.repository.ResourceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Verifies the conditional status UPDATE behind status-only updates.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class ResourceServiceStatusTests {
+
+	@Configuration
+	@EntityScan(basePackageClasses = Resource.class)
+	@EnableJpaRepositories(basePackageClasses = ResourceRepository.class)
+	@Import(ResourceService.class)
+	static class TestConfig {
+	}
+
+	@MockitoBean
+	private ResourceEventPublisher eventPublisher;
+
+	@MockitoBean
+	private ResourceCache resourceCache;
+
+	@MockitoBean
+	private ResourceNameIndex nameIndex;
+
+	@MockitoBean
+	private ResourceSpatialIndex spatialIndex;
+
+	@MockitoBean
+	private ResourceBitmapIndex bitmapIndex;
+
+	@MockitoBean
+	private ResourceStatsIndex statsIndex;
+
+	@MockitoBean
+	private ResourceAvailabilityIndex availabilityIndex;
+
+	@Autowired
+	private ResourceService resourceService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Test
+	void statusOnlyUpdateSetsTheStatusAndBumpsTheVersion() {
+		Resource room = persist(ResourceStatus.AVAILABLE, 0);
+		UpdateResourceRequest request = new UpdateResourceRequest();
+		request.setStatus(ResourceStatus.MAINTENANCE);
+
+		ResourceResponse updated = resourceService.updateResource(room.getId(), request);
+
+		assertThat(updated.getStatus()).isEqualTo(ResourceStatus.MAINTENANCE);
+		assertThat(updated.getVersion()).isEqualTo(room.getVersion() + 1);
+		verify(eventPublisher).publishResourceUpdated(any(), any());
+	}
+
+	@Test
+	void leavingMaintenanceForAStatusTheBookingsContradictIsRejected() {
+		Resource room = persist(ResourceStatus.MAINTENANCE, 2);
+
+		assertThatThrownBy(() -> resourceService.updateResourceStatus(room.getId(), ResourceStatus.AVAILABLE))
+				.isInstanceOf(InvalidStatusChangeException.class);
+	}
+
+	@Test
+	void leavingMaintenanceForTheStatusTheBookingsImply() {
+		Resource room = persist(ResourceStatus.MAINTENANCE, 2);
+
+		ResourceResponse updated = resourceService.updateResourceStatus(room.getId(), ResourceStatus.UNAVAILABLE);
+
+		assertThat(updated.getStatus()).isEqualTo(ResourceStatus.UNAVAILABLE);
+	}
+
+	@Test
+	void unchangedStatusWritesNothing() {
+		Resource room = persist(ResourceStatus.AVAILABLE, 1);
+
+		ResourceResponse unchanged = resourceService.updateResourceStatus(room.getId(), ResourceStatus.AVAILABLE);
+
+		assertThat(unchanged.getVersion()).isEqualTo(room.getVersion());
+		verify(eventPublisher, never()).publishResourceUpdated(any(), any());
+	}
+
+	private Resource persist(ResourceStatus status, int activeBookings) {
+		Resource room = new Resource("Room 1", ResourceType.STUDY_ROOM, 2, 1);
+		room.setStatus(status);
+		room.setActiveBookings(activeBookings);
+		Resource persisted = entityManager.persistFlushFind(room);
+		entityManager.clear();
+		return persisted;
+	}
+}
@@ -0,0 +1,112 @@
+package com.library.catalog_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.catalog_service.dto.CursorPage;
+import com.library.catalog_service.dto.ResourceFilter;
+import com.library.catalog_service.dto.ResourceResponse;
+import com.library.catalog_service.entity.ResourceStatus;
+import com.library.catalog_service.entity.ResourceType;
+import com.library.catalog_service.event.ResourceChangedEvent;
+import com.library.catalog_service.exception.StreamLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifies that a subscriber whose queue overflows is disconnected and
+ * counted as dropped, without affecting other subscribers.
+ * <p>
+ * Changes published while the snapshot is read are queued until it has been
+ * sent, which makes a subscriber fall behind deterministically.
+ */
+class ResourceStreamServiceTests {
+
+	private static final int QUEUE_CAPACITY = 4;
+
+	private final ResourceService resourceService = mock(ResourceService.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ResourceStreamService streamService = new ResourceStreamService(resourceService,
+			new ObjectMapper().findAndRegisterModules(), meterRegistry, QUEUE_CAPACITY, 2, 1,
+			Duration.ofMinutes(30), Duration.ofSeconds(5), 4);
+
+	private int changesDuringSnapshot;
+
+	@BeforeEach
+	void publishChangesWhileReadingTheSnapshot() {
+		when(resourceService.findResources(any(), any(), any())).thenAnswer(invocation -> {
+			ResourceFilter filter = invocation.getArgument(0);
+			for (long id = 1; id <= changesDuringSnapshot; id++) {
+				streamService.onResourceChanged(ResourceChangedEvent.created(resource(id, filter.getFloor())));
+			}
+			return new CursorPage<ResourceResponse>(List.of(), null, false);
+		});
+	}
+
+	@AfterEach
+	void stop() {
+		streamService.stop();
+	}
+
+	@Test
+	void keepsSubscriberWithinQueueCapacity() {
+		changesDuringSnapshot = QUEUE_CAPACITY;
+
+		streamService.subscribe(1);
+
+		assertThat(subscribers()).isEqualTo(1);
+		assertThat(dropped()).isZero();
+	}
+
+	@Test
+	void disconnectsSubscriberThatFallsBehind() {
+		changesDuringSnapshot = QUEUE_CAPACITY + 1;
+
+		assertThatThrownBy(() -> streamService.subscribe(1)).isInstanceOf(IllegalStateException.class);
+
+		assertThat(subscribers()).isZero();
+		assertThat(dropped()).isEqualTo(1);
+	}
+
+	@Test
+	void overflowDoesNotAffectOtherFloors() {
+		streamService.subscribe(2);
+		changesDuringSnapshot = QUEUE_CAPACITY + 1;
+
+		assertThatThrownBy(() -> streamService.subscribe(1)).isInstanceOf(IllegalStateException.class);
+
+		assertThat(subscribers()).isEqualTo(1);
+		assertThat(dropped()).isEqualTo(1);
+	}
+
+	@Test
+	void refusesSubscribersBeyondTheLimit() {
+		streamService.subscribe(1);
+		streamService.subscribe(2);
+
+		assertThatThrownBy(() -> streamService.subscribe(3)).isInstanceOf(StreamLimitExceededException.class);
+		assertThat(subscribers()).isEqualTo(2);
+	}
+
+	private double subscribers() {
+		return meterRegistry.get("catalog.stream.subscribers").gauge().value();
+	}
+
+	private double dropped() {
+		return meterRegistry.get("catalog.stream.dropped").counter().count();
+	}
+
+	private static ResourceResponse resource(Long id, Integer floor) {
+		return new ResourceResponse(id, "Seat " + id, ResourceType.SEAT, 1, floor, null, null, List.of(),
+				ResourceStatus.AVAILABLE, 0, null, null, 0L);
+	}
+}